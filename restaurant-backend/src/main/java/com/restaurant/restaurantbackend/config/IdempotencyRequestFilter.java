@@ -0,0 +1,30 @@
+package com.restaurant.restaurantbackend.config;
+
+import com.restaurant.restaurantbackend.service.IdempotencyService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+
+import java.io.IOException;
+
+/**
+ * Idempotency-Key başlığı olan isteklerin gövdesini saklar; tekrar kontrolünde
+ * aynı anahtarın aynı istek gövdesiyle kullanıldığı ham byte'lar üzerinden doğrulanır.
+ */
+@Component
+public class IdempotencyRequestFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (request.getHeader(IdempotencyService.HEADER) != null) {
+            chain.doFilter(new ContentCachingRequestWrapper(request), response);
+        } else {
+            chain.doFilter(request, response);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.restaurant.restaurantbackend.config;
+
+import com.restaurant.restaurantbackend.service.OrderNumberGenerator;
+import com.restaurant.restaurantbackend.service.SnowflakeOrderNumberGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.InetAddress;
+
+@Configuration
+public class OrderNumberConfig {
+
+    @Bean
+    public OrderNumberGenerator orderNumberGenerator(@Value("${app.orders.node-id:-1}") long nodeId,
+                                                     @Value("${app.orders.multi-instance:false}") boolean multiInstance) {
+        if (nodeId < 0) {
+            if (multiInstance) {
+                // Host adı hash'i iki örnekte aynı değere düşebilir: çakışan sipariş numarası yerine başlatmayı durdur
+                throw new IllegalStateException(
+                        "app.orders.multi-instance=true iken app.orders.node-id (0-"
+                                + SnowflakeOrderNumberGenerator.MAX_NODE_ID + ") her örnek için ayrı verilmeli");
+            }
+            // Düğüm ID verilmemiş: tek örnek varsayılır, host adından türet
+            nodeId = hostNodeId();
+            System.out.println("⚠️ app.orders.node-id tanımlı değil, host adından türetildi: " + nodeId);
+        }
+        return new SnowflakeOrderNumberGenerator(nodeId);
+    }
+
+    private static long hostNodeId() {
+        try {
+            return (InetAddress.getLocalHost().getHostName().hashCode() & 0x7fffffffL)
+                    % (SnowflakeOrderNumberGenerator.MAX_NODE_ID + 1);
+        } catch (Exception e) {
+            return 0L;
+        }
+    }
+}
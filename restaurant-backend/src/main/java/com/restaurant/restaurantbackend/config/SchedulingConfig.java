@@ -0,0 +1,10 @@
+package com.restaurant.restaurantbackend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// @Scheduled bakım işleri (süresi dolmuş kayıtların temizlenmesi vb.) için
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
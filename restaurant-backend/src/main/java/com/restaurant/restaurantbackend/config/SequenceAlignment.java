@@ -0,0 +1,51 @@
+package com.restaurant.restaurantbackend.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * orders, order_items ve table_requests tabloları eskiden IDENTITY kolonlarıyla doluyordu.
+ * Sequence'e geçişten sonra yeni sequence'ler 1'den başlayacağı için mevcut ID'lerle çakışmasın diye
+ * açılışta her sequence tablodaki en büyük ID'nin ilerisine alınır.
+ * EntityManagerFactory'ye bağımlı olduğu için Hibernate şemayı (ve sequence'leri) oluşturduktan sonra çalışır.
+ */
+@Component
+public class SequenceAlignment {
+
+    // Entity'lerdeki allocationSize ile aynı olmalı
+    private static final int ALLOCATION_SIZE = 50;
+
+    // sequence adı -> tablo adı
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "orders_seq", "orders",
+            "order_items_seq", "order_items",
+            "table_requests_seq", "table_requests"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SequenceAlignment(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void align() {
+        SEQUENCES.forEach((sequence, table) -> {
+            try {
+                Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+                Long lastValue = jdbcTemplate.queryForObject("SELECT last_value FROM " + sequence, Long.class);
+                // Pooled optimizer nextval'den önceki ALLOCATION_SIZE değeri kullanır: bir blok boşluk bırak
+                long target = (maxId == null ? 0 : maxId) + ALLOCATION_SIZE;
+                if (lastValue == null || lastValue < target) {
+                    jdbcTemplate.queryForObject("SELECT setval('" + sequence + "', ?)", Long.class, target);
+                }
+            } catch (Exception e) {
+                System.err.println("⚠️ Sequence hizalanamadı (" + sequence + "): " + e.getMessage());
+            }
+        });
+    }
+}
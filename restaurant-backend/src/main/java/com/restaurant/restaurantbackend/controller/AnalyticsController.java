@@ -0,0 +1,27 @@
+package com.restaurant.restaurantbackend.controller;
+
+import com.restaurant.restaurantbackend.dto.SalesAnalyticsDTO;
+import com.restaurant.restaurantbackend.service.SalesAnalyticsService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/analytics")
+public class AnalyticsController {
+
+    private final SalesAnalyticsService salesAnalyticsService;
+
+    public AnalyticsController(SalesAnalyticsService salesAnalyticsService) {
+        this.salesAnalyticsService = salesAnalyticsService;
+    }
+
+    // Canlı satış özeti bellekteki sayaçlardan; güncellemeler /topic/analytics üzerinden de yayınlanır
+    @GetMapping("/live")
+    public ResponseEntity<SalesAnalyticsDTO> getLive(
+            @RequestParam(defaultValue = "" + SalesAnalyticsService.DEFAULT_TOP_PRODUCTS) int top) {
+        return ResponseEntity.ok(salesAnalyticsService.getLive(top));
+    }
+}
@@ -0,0 +1,29 @@
+package com.restaurant.restaurantbackend.controller;
+
+import com.restaurant.restaurantbackend.dto.TableBootstrapDTO;
+import com.restaurant.restaurantbackend.service.TableBootstrapService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.NonNull;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/bootstrap")
+public class BootstrapController {
+
+    private final TableBootstrapService tableBootstrapService;
+
+    public BootstrapController(TableBootstrapService tableBootstrapService) {
+        this.tableBootstrapService = tableBootstrapService;
+    }
+
+    // QR menü sayfasının ilk açılışı: masa + kategoriler + ürünler + açık siparişler tek istekte
+    @GetMapping("/table/{tableId}")
+    public ResponseEntity<TableBootstrapDTO> getTableBootstrap(@PathVariable @NonNull Long tableId) {
+        return tableBootstrapService.getBootstrap(tableId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -2,10 +2,14 @@ package com.restaurant.restaurantbackend.controller;
 
 import com.restaurant.restaurantbackend.model.Category;
 import com.restaurant.restaurantbackend.service.CategoryService;
+import com.restaurant.restaurantbackend.service.ContentVersion;
+import com.restaurant.restaurantbackend.service.MenuSnapshot;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.NonNull;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -21,10 +25,22 @@ public class CategoryController {
     }
 
     // Tüm kategorileri getiren endpoint (HTTP GET isteği)
+    // Menü değişmediyse (If-None-Match / If-Modified-Since) 304 döner
     @GetMapping
-    public ResponseEntity<List<Category>> getAllCategories() {
-        List<Category> categories = categoryService.getAllCategories();
-        return ResponseEntity.ok(categories);
+    public ResponseEntity<List<Category>> getAllCategories(WebRequest webRequest) {
+        MenuSnapshot menu = categoryService.getMenuSnapshot();
+        ContentVersion version = menu.getContentVersion();
+        if (webRequest.checkNotModified(version.getEtag(), version.getLastModifiedMillis())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(version.getEtag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(version.getEtag())
+                .lastModified(version.getLastModified())
+                .cacheControl(CacheControl.noCache())
+                .body(menu.getCategories());
     }
 
     // ID'ye göre tek bir kategori getiren endpoint
@@ -0,0 +1,29 @@
+package com.restaurant.restaurantbackend.controller;
+
+import com.restaurant.restaurantbackend.dto.KitchenBoardDTO;
+import com.restaurant.restaurantbackend.service.KitchenBoardService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/kitchen")
+public class KitchenController {
+
+    private final KitchenBoardService kitchenBoardService;
+
+    public KitchenController(KitchenBoardService kitchenBoardService) {
+        this.kitchenBoardService = kitchenBoardService;
+    }
+
+    // Mutfak ekranı: aktif siparişler bellekteki projeksiyondan (opsiyonel durum / masa filtresi).
+    // categoryId verilirse istasyon panosu: sadece o kategorinin kalemleri
+    @GetMapping("/board")
+    public ResponseEntity<KitchenBoardDTO> getBoard(@RequestParam(required = false) String status,
+                                                    @RequestParam(required = false) Long tableId,
+                                                    @RequestParam(required = false) Long categoryId) {
+        return ResponseEntity.ok(kitchenBoardService.getBoard(status, tableId, categoryId));
+    }
+}
@@ -0,0 +1,31 @@
+package com.restaurant.restaurantbackend.controller;
+
+import com.restaurant.restaurantbackend.dto.MenuChangesDTO;
+import com.restaurant.restaurantbackend.service.MenuChangeLog;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/menu")
+public class MenuController {
+
+    private final MenuChangeLog menuChangeLog;
+
+    public MenuController(MenuChangeLog menuChangeLog) {
+        this.menuChangeLog = menuChangeLog;
+    }
+
+    // İstemcinin elindeki menü versiyonundan sonraki değişiklikler (WebSocket bağlantısı koptuysa yakalamak için).
+    // since verilmezse sadece güncel versiyon döner: menüyü yüklemeden önce başlangıç noktası almak için
+    @GetMapping("/changes")
+    public ResponseEntity<MenuChangesDTO> getChanges(@RequestParam(required = false) Long since,
+                                                     @RequestParam(required = false) String epoch) {
+        if (since == null) {
+            return ResponseEntity.ok(menuChangeLog.getCurrentVersion());
+        }
+        return ResponseEntity.ok(menuChangeLog.getChangesSince(since, epoch));
+    }
+}
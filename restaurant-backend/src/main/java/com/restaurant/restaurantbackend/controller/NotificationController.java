@@ -0,0 +1,32 @@
+package com.restaurant.restaurantbackend.controller;
+
+import com.restaurant.restaurantbackend.service.NotificationReplayLog;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/notifications")
+public class NotificationController {
+
+    private final NotificationReplayLog replayLog;
+
+    public NotificationController(NotificationReplayLog replayLog) {
+        this.replayLog = replayLog;
+    }
+
+    // Yeniden bağlanan istemcinin son aldığı seq'ten sonra topic'e gönderilmiş bildirimler
+    @GetMapping("/replay")
+    public ResponseEntity<?> replay(@RequestParam String topic,
+                                    @RequestParam(defaultValue = "0") long after,
+                                    @RequestParam(required = false) String epoch) {
+        if (!topic.startsWith("/topic/") || after < 0) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Geçersiz topic veya after değeri"));
+        }
+        return ResponseEntity.ok(replayLog.getSince(topic, after, epoch));
+    }
+}
@@ -1,29 +1,136 @@
 package com.restaurant.restaurantbackend.controller;
 
+import com.restaurant.restaurantbackend.dto.BulkStatusUpdateResultDTO;
+import com.restaurant.restaurantbackend.dto.OrderIngestionStatusDTO;
+import com.restaurant.restaurantbackend.dto.OrderNotificationDTO;
+import com.restaurant.restaurantbackend.dto.OrderPageDTO;
+import com.restaurant.restaurantbackend.dto.OrderStatusUpdateDTO;
 import com.restaurant.restaurantbackend.dto.StatusUpdateDTO;
+import com.restaurant.restaurantbackend.model.ArchivedOrder;
 import com.restaurant.restaurantbackend.model.Order;
+import com.restaurant.restaurantbackend.service.IdempotencyService;
+import com.restaurant.restaurantbackend.service.OrderExportService;
+import com.restaurant.restaurantbackend.service.OrderIngestionService;
 import com.restaurant.restaurantbackend.service.OrderService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.NonNull;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/orders")
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderIngestionService orderIngestionService;
+    private final IdempotencyService idempotencyService;
+    private final OrderExportService orderExportService;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, OrderIngestionService orderIngestionService,
+                           IdempotencyService idempotencyService, OrderExportService orderExportService) {
         this.orderService = orderService;
+        this.orderIngestionService = orderIngestionService;
+        this.idempotencyService = idempotencyService;
+        this.orderExportService = orderExportService;
     }
 
-    @GetMapping
-    public ResponseEntity<List<Order>> getAllOrders() {
-        List<Order> orders = orderService.getAllOrders();
-        return ResponseEntity.ok(orders);
+    /**
+     * Sayfalı sipariş listesi (yeniden eskiye). Filtreler opsiyoneldir; from dahil, to hariçtir.
+     * Sonraki sayfa için yanıttaki nextCursor, cursor parametresi olarak aynı filtrelerle gönderilir.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<?> getOrderPage(
+            @RequestParam(required = false) List<String> status,
+            @RequestParam(required = false) Long tableId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(defaultValue = "false") boolean includeItems) {
+        try {
+            OrderPageDTO page = orderService.getOrderPage(status, tableId, from, to, cursor, limit, includeItems);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * Arşive taşınmış (kapanmış ve eski) siparişler; /page ile aynı filtreler ve cursor biçimi.
+     */
+    @GetMapping("/archive")
+    public ResponseEntity<?> getArchivedOrderPage(
+            @RequestParam(required = false) List<String> status,
+            @RequestParam(required = false) Long tableId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        try {
+            OrderPageDTO page = orderService.getArchivedOrderPage(status, tableId, from, to, cursor, limit);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * Gün sonu dökümü: [from, to) aralığındaki siparişler ve kalemleri (arşiv dahil), csv veya ndjson.
+     * from verilmezse bugünün başı, to verilmezse from'dan bir gün sonrası kullanılır.
+     * Yanıt veritabanı cursor'ından okunarak akış halinde yazılır.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<?> exportOrders(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = OrderExportService.FORMAT_CSV) String format) {
+        String exportFormat;
+        try {
+            exportFormat = OrderExportService.parseFormat(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+        LocalDateTime start = from != null ? from : LocalDate.now().atStartOfDay();
+        LocalDateTime end = to != null ? to : start.plusDays(1);
+        if (!end.isAfter(start)) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("to, from'dan sonra olmalı"));
+        }
+
+        boolean csv = OrderExportService.FORMAT_CSV.equals(exportFormat);
+        String fileName = "orders-" + start.toLocalDate() + "-" + end.toLocalDate() + "." + exportFormat;
+        StreamingResponseBody body = out -> {
+            try {
+                orderExportService.export(start, end, exportFormat, out);
+            } catch (RuntimeException e) {
+                // Başlıklar gönderildi, durum kodu artık değiştirilemez: döküm yarıda kesilir
+                System.err.println("❌ Sipariş dökümü yarıda kesildi: " + e.getMessage());
+                throw e;
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                        : new MediaType("application", "x-ndjson", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+
+    @GetMapping("/archive/{id}")
+    public ResponseEntity<ArchivedOrder> getArchivedOrderById(@PathVariable @NonNull Long id) {
+        return orderService.getArchivedOrderById(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/{id}")
@@ -39,11 +146,28 @@ public class OrderController {
         return ResponseEntity.ok(orders);
     }
 
+    // Idempotency-Key başlığı verilirse aynı anahtarla tekrar gelen istek ilk yanıtı alır, sipariş tekrar oluşturulmaz
     @PostMapping
-    public ResponseEntity<?> createOrder(@RequestBody @NonNull Order order) {
+    public ResponseEntity<?> createOrder(@RequestBody @NonNull Order order, HttpServletRequest httpRequest) {
+        return idempotencyService.execute("orders", httpRequest, () -> doCreateOrder(order));
+    }
+
+    private ResponseEntity<?> doCreateOrder(Order order) {
         try {
+            if (orderIngestionService.isEnabled()) {
+                // Write-behind: sipariş kuyruğa alındı, kayıt durumu sipariş numarasıyla sorgulanır
+                OrderIngestionStatusDTO accepted = orderIngestionService.submit(order);
+                return ResponseEntity.status(HttpStatus.ACCEPTED)
+                        .header(HttpHeaders.LOCATION, "/api/orders/ingestion/" + accepted.getOrderNumber())
+                        .body(accepted);
+            }
             Order newOrder = orderService.createOrder(order);
             return new ResponseEntity<>(newOrder, HttpStatus.CREATED);
+        } catch (RejectedExecutionException e) {
+            // Kuyruk dolu: istemci kısa süre sonra tekrar denemeli
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(new ErrorResponse(e.getMessage()));
         } catch (IllegalArgumentException e) {
             // Masa bulunamadı veya geçersiz veri
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -55,6 +179,12 @@ public class OrderController {
         }
     }
     
+    // Write-behind modunda kabul edilen siparişin kayıt durumu
+    @GetMapping("/ingestion/{orderNumber}")
+    public ResponseEntity<OrderIngestionStatusDTO> getIngestionStatus(@PathVariable @NonNull String orderNumber) {
+        return ResponseEntity.ok(orderIngestionService.getStatus(orderNumber));
+    }
+    
     // Hata mesajı için iç sınıf
     private static class ErrorResponse {
         private String message;
@@ -74,12 +204,29 @@ public class OrderController {
 
     // Sadece siparişin durumunu güncellemek için özel bir endpoint
     @PutMapping("/{id}/status")
-    public ResponseEntity<Order> updateOrderStatus(@PathVariable @NonNull Long id, @RequestBody @NonNull StatusUpdateDTO statusDTO) {
-        String status = statusDTO.getStatus();
-        if (status == null || status.isEmpty()) {
-            return ResponseEntity.badRequest().build();
+    public ResponseEntity<?> updateOrderStatus(@PathVariable @NonNull Long id, @RequestBody @NonNull StatusUpdateDTO statusDTO) {
+        try {
+            OrderNotificationDTO updated = orderService.updateOrderStatus(id, statusDTO.getStatus());
+            return ResponseEntity.ok(updated);
+        } catch (IllegalArgumentException e) {
+            // Boş veya tanınmayan durum
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            // İzin verilmeyen geçiş veya başka bir ekran durumu az önce değiştirdi
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    // Birden fazla siparişin durumunu tek istekte güncellemek için (örn: masanın tüm siparişleri hazır)
+    @PutMapping("/status")
+    public ResponseEntity<?> updateOrderStatuses(@RequestBody @NonNull List<OrderStatusUpdateDTO> updates) {
+        try {
+            BulkStatusUpdateResultDTO result = orderService.updateOrderStatuses(updates);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
-        Order updatedOrder = orderService.updateOrderStatus(id, status);
-        return ResponseEntity.ok(updatedOrder);
     }
-}
\ No newline at end of file
+}
@@ -1,34 +1,118 @@
 package com.restaurant.restaurantbackend.controller;
 
 import com.restaurant.restaurantbackend.model.Product;
+import com.restaurant.restaurantbackend.service.ContentVersion;
+import com.restaurant.restaurantbackend.service.MenuFilter;
+import com.restaurant.restaurantbackend.service.MenuPayloadCache;
+import com.restaurant.restaurantbackend.service.MenuSnapshot;
 import com.restaurant.restaurantbackend.service.ProductService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.NonNull;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Locale;
 
 @RestController
 @RequestMapping("/api/products")
 public class ProductController {
 
     private final ProductService productService;
+    private final MenuPayloadCache menuPayloadCache;
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, MenuPayloadCache menuPayloadCache) {
         this.productService = productService;
+        this.menuPayloadCache = menuPayloadCache;
     }
 
     // Tüm ürünleri veya belirli bir kategoriye ait ürünleri getiren endpoint
+    // Alerjen/diyet filtresi: ?excludeAllergens=LAKTOZ,GLUTEN&vegan=true&vegetarian=true
+    // Menü değişmediyse (If-None-Match / If-Modified-Since) 304 döner, liste tekrar gönderilmez.
+    // Gövde, menü versiyonu başına bir kez hazırlanan JSON byte'larıdır (istemci destekliyorsa gzip'li).
     @GetMapping
-    public ResponseEntity<List<Product>> getAllProducts(@RequestParam(required = false) Long categoryId) {
-        List<Product> products;
-        if (categoryId != null) {
-            products = productService.getProductsByCategoryId(categoryId);
-        } else {
-            products = productService.getAllProducts();
+    public ResponseEntity<byte[]> getAllProducts(@RequestParam(required = false) Long categoryId,
+                                                 @RequestParam(required = false) List<String> excludeAllergens,
+                                                 @RequestParam(defaultValue = "false") boolean vegan,
+                                                 @RequestParam(defaultValue = "false") boolean vegetarian,
+                                                 @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                                 WebRequest webRequest) {
+        MenuFilter filter;
+        try {
+            filter = MenuFilter.of(excludeAllergens, vegan, vegetarian);
+        } catch (IllegalArgumentException e) {
+            // Tanınmayan alerjen adı
+            return ResponseEntity.badRequest().build();
         }
-        return ResponseEntity.ok(products);
+
+        MenuSnapshot menu = productService.getMenuSnapshot();
+        ContentVersion version = menu.getContentVersion();
+        boolean gzip = acceptsGzip(acceptEncoding);
+        // Güçlü ETag içerik kodlamasına göre farklı olmalı: gzip'li gövde kendi ETag'iyle gönderilir
+        String etag = gzip ? version.getGzipEtag() : version.getEtag();
+        if (webRequest.checkNotModified(etag, version.getLastModifiedMillis())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+
+        MenuPayloadCache.EncodedPayload payload = menuPayloadCache.getProductsPayload(menu, categoryId, filter);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .lastModified(version.getLastModified())
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(payload.getGzip());
+        }
+        return response.body(payload.getIdentity());
+    }
+
+    // Accept-Encoding'de gzip (veya *) q > 0 ile kabul ediliyor mu; "gzip;q=0" reddetmektir
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzipQ = null;
+        Double wildcardQ = null;
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.split(";");
+            String coding = tokens[0].trim().toLowerCase(Locale.ROOT);
+            double q = 1.0;
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim();
+                if (param.startsWith("q=") || param.startsWith("Q=")) {
+                    try {
+                        q = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzipQ = gzipQ == null ? q : Math.max(gzipQ, q);
+            } else if (coding.equals("*")) {
+                wildcardQ = q;
+            }
+        }
+        if (gzipQ != null) {
+            return gzipQ > 0;
+        }
+        return wildcardQ != null && wildcardQ > 0;
+    }
+
+    // Menü içinde arama (örn: /api/products/search?q=sutlac)
+    @GetMapping("/search")
+    public ResponseEntity<List<Product>> searchProducts(@RequestParam("q") String query,
+                                                        @RequestParam(defaultValue = "20") int limit) {
+        List<Product> results = productService.searchProducts(query, Math.min(Math.max(limit, 1), 100));
+        return ResponseEntity.ok(results);
     }
 
     @GetMapping("/{id}")
@@ -1,14 +1,17 @@
 package com.restaurant.restaurantbackend.controller;
 
 import com.restaurant.restaurantbackend.model.RestaurantTable;
+import com.restaurant.restaurantbackend.service.ContentVersion;
 import com.restaurant.restaurantbackend.service.QRCodeService;
 import com.restaurant.restaurantbackend.service.RestaurantTableService;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.NonNull;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -24,10 +27,23 @@ public class RestaurantTableController {
         this.qrCodeService = qrCodeService;
     }
 
+    // Masalar değişmediyse 304 döner; bu durumda veritabanına hiç gidilmez
     @GetMapping
-    public ResponseEntity<List<RestaurantTable>> getAllTables() {
+    public ResponseEntity<List<RestaurantTable>> getAllTables(WebRequest webRequest) {
+        // Versiyon listeden ÖNCE okunur: arada bir yazma olursa ETag eski kalır ve istemci sonraki istekte yenisini alır
+        ContentVersion version = tableService.getTablesVersion();
+        if (webRequest.checkNotModified(version.getEtag(), version.getLastModifiedMillis())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(version.getEtag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
         List<RestaurantTable> tables = tableService.getAllTables();
-        return ResponseEntity.ok(tables);
+        return ResponseEntity.ok()
+                .eTag(version.getEtag())
+                .lastModified(version.getLastModified())
+                .cacheControl(CacheControl.noCache())
+                .body(tables);
     }
 
     @GetMapping("/{id}")
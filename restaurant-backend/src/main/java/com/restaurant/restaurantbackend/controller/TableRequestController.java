@@ -1,7 +1,9 @@
 package com.restaurant.restaurantbackend.controller;
 
 import com.restaurant.restaurantbackend.model.TableRequest;
+import com.restaurant.restaurantbackend.service.IdempotencyService;
 import com.restaurant.restaurantbackend.service.TableRequestService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.NonNull;
@@ -14,9 +16,11 @@ import java.util.List;
 public class TableRequestController {
 
     private final TableRequestService tableRequestService;
+    private final IdempotencyService idempotencyService;
 
-    public TableRequestController(TableRequestService tableRequestService) {
+    public TableRequestController(TableRequestService tableRequestService, IdempotencyService idempotencyService) {
         this.tableRequestService = tableRequestService;
+        this.idempotencyService = idempotencyService;
     }
 
     @GetMapping
@@ -44,10 +48,13 @@ public class TableRequestController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // Idempotency-Key başlığı verilirse tekrar gönderilen istek aynı kaydı döner, garson iki kez çağrılmaz
     @PostMapping
-    public ResponseEntity<TableRequest> createRequest(@RequestBody @NonNull TableRequest request) {
-        TableRequest newRequest = tableRequestService.createRequest(request);
-        return new ResponseEntity<>(newRequest, HttpStatus.CREATED);
+    public ResponseEntity<?> createRequest(@RequestBody @NonNull TableRequest request, HttpServletRequest httpRequest) {
+        return idempotencyService.execute("table-requests", httpRequest, () -> {
+            TableRequest newRequest = tableRequestService.createRequest(request);
+            return new ResponseEntity<>(newRequest, HttpStatus.CREATED);
+        });
     }
 
     @PutMapping("/{id}/status")
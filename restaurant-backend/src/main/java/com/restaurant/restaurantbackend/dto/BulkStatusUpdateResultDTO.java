@@ -0,0 +1,35 @@
+package com.restaurant.restaurantbackend.dto;
+
+import java.util.List;
+
+/**
+ * PUT /api/orders/status yanıtı: güncellenen siparişler ve uygulanamayan istekler.
+ */
+public class BulkStatusUpdateResultDTO {
+    private List<OrderNotificationDTO> updated;
+    private List<OrderStatusRejectionDTO> rejected;
+
+    public BulkStatusUpdateResultDTO() {
+    }
+
+    public BulkStatusUpdateResultDTO(List<OrderNotificationDTO> updated, List<OrderStatusRejectionDTO> rejected) {
+        this.updated = updated;
+        this.rejected = rejected;
+    }
+
+    public List<OrderNotificationDTO> getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(List<OrderNotificationDTO> updated) {
+        this.updated = updated;
+    }
+
+    public List<OrderStatusRejectionDTO> getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(List<OrderStatusRejectionDTO> rejected) {
+        this.rejected = rejected;
+    }
+}
@@ -0,0 +1,48 @@
+package com.restaurant.restaurantbackend.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * GET /api/kitchen/board yanıtı: aktif siparişler (eskiden yeniye) ve durum başına sayılar.
+ */
+public class KitchenBoardDTO {
+    private LocalDateTime generatedAt;
+    private Map<String, Integer> countsByStatus;
+    private List<KitchenOrderDTO> orders;
+
+    public KitchenBoardDTO() {
+    }
+
+    public KitchenBoardDTO(LocalDateTime generatedAt, Map<String, Integer> countsByStatus,
+                           List<KitchenOrderDTO> orders) {
+        this.generatedAt = generatedAt;
+        this.countsByStatus = countsByStatus;
+        this.orders = orders;
+    }
+
+    public LocalDateTime getGeneratedAt() {
+        return generatedAt;
+    }
+
+    public void setGeneratedAt(LocalDateTime generatedAt) {
+        this.generatedAt = generatedAt;
+    }
+
+    public Map<String, Integer> getCountsByStatus() {
+        return countsByStatus;
+    }
+
+    public void setCountsByStatus(Map<String, Integer> countsByStatus) {
+        this.countsByStatus = countsByStatus;
+    }
+
+    public List<KitchenOrderDTO> getOrders() {
+        return orders;
+    }
+
+    public void setOrders(List<KitchenOrderDTO> orders) {
+        this.orders = orders;
+    }
+}
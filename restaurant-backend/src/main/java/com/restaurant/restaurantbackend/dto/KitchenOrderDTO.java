@@ -0,0 +1,116 @@
+package com.restaurant.restaurantbackend.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Mutfak panosundaki aktif (teslim edilmemiş / iptal edilmemiş) sipariş.
+ */
+public class KitchenOrderDTO {
+    private Long id;
+    private String orderNumber;
+    private String status;
+    private Long tableId;
+    private String tableNumber;
+    private String customerNotes;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private List<KitchenOrderItemDTO> items;
+
+    public KitchenOrderDTO() {
+    }
+
+    public KitchenOrderDTO(Long id, String orderNumber, String status, Long tableId, String tableNumber,
+                           String customerNotes, LocalDateTime createdAt, LocalDateTime updatedAt,
+                           List<KitchenOrderItemDTO> items) {
+        this.id = id;
+        this.orderNumber = orderNumber;
+        this.status = status;
+        this.tableId = tableId;
+        this.tableNumber = tableNumber;
+        this.customerNotes = customerNotes;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.items = items;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getOrderNumber() {
+        return orderNumber;
+    }
+
+    public void setOrderNumber(String orderNumber) {
+        this.orderNumber = orderNumber;
+    }
+
+    /**
+     * Mutfakta seslenmek için kısa numara (#042). Sipariş ID'sinin son üç hanesidir:
+     * benzersiz değildir ama aynı anda açık 1000 siparişe kadar karışmaz; tam numara orderNumber'dadır.
+     */
+    public String getDisplayNumber() {
+        return id == null ? null : String.format("#%03d", id % 1000);
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Long getTableId() {
+        return tableId;
+    }
+
+    public void setTableId(Long tableId) {
+        this.tableId = tableId;
+    }
+
+    public String getTableNumber() {
+        return tableNumber;
+    }
+
+    public void setTableNumber(String tableNumber) {
+        this.tableNumber = tableNumber;
+    }
+
+    public String getCustomerNotes() {
+        return customerNotes;
+    }
+
+    public void setCustomerNotes(String customerNotes) {
+        this.customerNotes = customerNotes;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public List<KitchenOrderItemDTO> getItems() {
+        return items;
+    }
+
+    public void setItems(List<KitchenOrderItemDTO> items) {
+        this.items = items;
+    }
+}
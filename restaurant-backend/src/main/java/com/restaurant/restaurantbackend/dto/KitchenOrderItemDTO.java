@@ -0,0 +1,63 @@
+package com.restaurant.restaurantbackend.dto;
+
+/**
+ * Mutfak panosundaki sipariş kalemi: sadece hazırlık için gereken alanlar.
+ */
+public class KitchenOrderItemDTO {
+    private Long productId;
+    private String productName;
+    private Long categoryId;
+    private int quantity;
+    private String notes;
+
+    public KitchenOrderItemDTO() {
+    }
+
+    public KitchenOrderItemDTO(Long productId, String productName, Long categoryId, int quantity, String notes) {
+        this.productId = productId;
+        this.productName = productName;
+        this.categoryId = categoryId;
+        this.quantity = quantity;
+        this.notes = notes;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public void setProductName(String productName) {
+        this.productName = productName;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+
+    public String getNotes() {
+        return notes;
+    }
+
+    public void setNotes(String notes) {
+        this.notes = notes;
+    }
+}
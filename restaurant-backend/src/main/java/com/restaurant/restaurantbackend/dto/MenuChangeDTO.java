@@ -0,0 +1,66 @@
+package com.restaurant.restaurantbackend.dto;
+
+import com.restaurant.restaurantbackend.model.Category;
+import com.restaurant.restaurantbackend.model.Product;
+
+/**
+ * Menüdeki tek bir değişiklik: bir ürünün veya kategorinin eklenmesi/güncellenmesi (UPSERT) ya da silinmesi (DELETE)
+ */
+public class MenuChangeDTO {
+    private String type;        // "UPSERT", "DELETE"
+    private String entity;      // "PRODUCT", "CATEGORY"
+    private Long id;
+    private Product product;    // sadece PRODUCT + UPSERT için dolu
+    private Category category;  // sadece CATEGORY + UPSERT için dolu
+
+    public MenuChangeDTO() {
+    }
+
+    public MenuChangeDTO(String type, String entity, Long id, Product product, Category category) {
+        this.type = type;
+        this.entity = entity;
+        this.id = id;
+        this.product = product;
+        this.category = category;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getEntity() {
+        return entity;
+    }
+
+    public void setEntity(String entity) {
+        this.entity = entity;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Product getProduct() {
+        return product;
+    }
+
+    public void setProduct(Product product) {
+        this.product = product;
+    }
+
+    public Category getCategory() {
+        return category;
+    }
+
+    public void setCategory(Category category) {
+        this.category = category;
+    }
+}
@@ -0,0 +1,57 @@
+package com.restaurant.restaurantbackend.dto;
+
+import java.util.List;
+
+/**
+ * GET /api/menu/changes yanıtı.
+ * resetRequired true ise istenen versiyon değişiklik kaydında artık yok (veya sunucu yeniden başladı);
+ * istemci menünün tamamını yeniden yüklemelidir.
+ */
+public class MenuChangesDTO {
+    private String epoch;
+    private long currentVersion;
+    private boolean resetRequired;
+    private List<MenuDeltaDTO> deltas;
+
+    public MenuChangesDTO() {
+    }
+
+    public MenuChangesDTO(String epoch, long currentVersion, boolean resetRequired, List<MenuDeltaDTO> deltas) {
+        this.epoch = epoch;
+        this.currentVersion = currentVersion;
+        this.resetRequired = resetRequired;
+        this.deltas = deltas;
+    }
+
+    public String getEpoch() {
+        return epoch;
+    }
+
+    public void setEpoch(String epoch) {
+        this.epoch = epoch;
+    }
+
+    public long getCurrentVersion() {
+        return currentVersion;
+    }
+
+    public void setCurrentVersion(long currentVersion) {
+        this.currentVersion = currentVersion;
+    }
+
+    public boolean isResetRequired() {
+        return resetRequired;
+    }
+
+    public void setResetRequired(boolean resetRequired) {
+        this.resetRequired = resetRequired;
+    }
+
+    public List<MenuDeltaDTO> getDeltas() {
+        return deltas;
+    }
+
+    public void setDeltas(List<MenuDeltaDTO> deltas) {
+        this.deltas = deltas;
+    }
+}
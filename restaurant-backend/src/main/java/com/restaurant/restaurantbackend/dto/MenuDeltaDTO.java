@@ -0,0 +1,69 @@
+package com.restaurant.restaurantbackend.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Bir menü versiyonundan bir sonrakine geçişteki değişiklikler.
+ * "/topic/menu" topic'ine gönderilir; istemci kendi kopyasının versiyonu
+ * previousVersion'a eşitse değişiklikleri uygular, değilse /api/menu/changes ile eksikleri ister.
+ */
+public class MenuDeltaDTO {
+    private String epoch;
+    private long previousVersion;
+    private long version;
+    private LocalDateTime changedAt;
+    private List<MenuChangeDTO> changes;
+
+    public MenuDeltaDTO() {
+    }
+
+    public MenuDeltaDTO(String epoch, long previousVersion, long version,
+                        LocalDateTime changedAt, List<MenuChangeDTO> changes) {
+        this.epoch = epoch;
+        this.previousVersion = previousVersion;
+        this.version = version;
+        this.changedAt = changedAt;
+        this.changes = changes;
+    }
+
+    public String getEpoch() {
+        return epoch;
+    }
+
+    public void setEpoch(String epoch) {
+        this.epoch = epoch;
+    }
+
+    public long getPreviousVersion() {
+        return previousVersion;
+    }
+
+    public void setPreviousVersion(long previousVersion) {
+        this.previousVersion = previousVersion;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(LocalDateTime changedAt) {
+        this.changedAt = changedAt;
+    }
+
+    public List<MenuChangeDTO> getChanges() {
+        return changes;
+    }
+
+    public void setChanges(List<MenuChangeDTO> changes) {
+        this.changes = changes;
+    }
+}
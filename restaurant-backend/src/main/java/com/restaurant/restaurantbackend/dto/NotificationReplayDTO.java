@@ -0,0 +1,68 @@
+package com.restaurant.restaurantbackend.dto;
+
+import java.util.List;
+
+/**
+ * GET /api/notifications/replay yanıtı.
+ * resetRequired true ise istenen sıra numarası tekrar oynatma kaydında artık yok (veya sunucu yeniden başladı);
+ * istemci ekranın tamamını yeniden yüklemelidir.
+ */
+public class NotificationReplayDTO {
+    private String topic;
+    private String epoch;
+    private long lastSeq;
+    private boolean resetRequired;
+    private List<ReplayedNotificationDTO> messages;
+
+    public NotificationReplayDTO() {
+    }
+
+    public NotificationReplayDTO(String topic, String epoch, long lastSeq, boolean resetRequired,
+                                 List<ReplayedNotificationDTO> messages) {
+        this.topic = topic;
+        this.epoch = epoch;
+        this.lastSeq = lastSeq;
+        this.resetRequired = resetRequired;
+        this.messages = messages;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public void setTopic(String topic) {
+        this.topic = topic;
+    }
+
+    public String getEpoch() {
+        return epoch;
+    }
+
+    public void setEpoch(String epoch) {
+        this.epoch = epoch;
+    }
+
+    public long getLastSeq() {
+        return lastSeq;
+    }
+
+    public void setLastSeq(long lastSeq) {
+        this.lastSeq = lastSeq;
+    }
+
+    public boolean isResetRequired() {
+        return resetRequired;
+    }
+
+    public void setResetRequired(boolean resetRequired) {
+        this.resetRequired = resetRequired;
+    }
+
+    public List<ReplayedNotificationDTO> getMessages() {
+        return messages;
+    }
+
+    public void setMessages(List<ReplayedNotificationDTO> messages) {
+        this.messages = messages;
+    }
+}
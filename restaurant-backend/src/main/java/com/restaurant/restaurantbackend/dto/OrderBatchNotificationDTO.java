@@ -0,0 +1,46 @@
+package com.restaurant.restaurantbackend.dto;
+
+import java.util.List;
+
+/**
+ * Toplu durum güncellemesinde tek bir WebSocket mesajında gönderilen sipariş değişiklikleri.
+ * Mutfak topic'ine tüm değişiklikler, masa topic'lerine sadece o masanın siparişleri gider (tableId dolu).
+ */
+public class OrderBatchNotificationDTO {
+    private Long tableId;
+    private List<OrderNotificationDTO> orders;
+    private String message;
+
+    public OrderBatchNotificationDTO() {
+    }
+
+    public OrderBatchNotificationDTO(Long tableId, List<OrderNotificationDTO> orders, String message) {
+        this.tableId = tableId;
+        this.orders = orders;
+        this.message = message;
+    }
+
+    public Long getTableId() {
+        return tableId;
+    }
+
+    public void setTableId(Long tableId) {
+        this.tableId = tableId;
+    }
+
+    public List<OrderNotificationDTO> getOrders() {
+        return orders;
+    }
+
+    public void setOrders(List<OrderNotificationDTO> orders) {
+        this.orders = orders;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
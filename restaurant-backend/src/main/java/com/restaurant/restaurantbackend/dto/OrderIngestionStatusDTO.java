@@ -0,0 +1,54 @@
+package com.restaurant.restaurantbackend.dto;
+
+/**
+ * Write-behind modunda kabul edilen bir siparişin kayıt durumu.
+ * state: "QUEUED" (kuyrukta), "PERSISTED" (kaydedildi, orderId dolu), "FAILED" (kaydedilemedi), "UNKNOWN"
+ */
+public class OrderIngestionStatusDTO {
+    private String orderNumber;
+    private String state;
+    private Long orderId;
+    private String message;
+
+    public OrderIngestionStatusDTO() {
+    }
+
+    public OrderIngestionStatusDTO(String orderNumber, String state, Long orderId, String message) {
+        this.orderNumber = orderNumber;
+        this.state = state;
+        this.orderId = orderId;
+        this.message = message;
+    }
+
+    public String getOrderNumber() {
+        return orderNumber;
+    }
+
+    public void setOrderNumber(String orderNumber) {
+        this.orderNumber = orderNumber;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
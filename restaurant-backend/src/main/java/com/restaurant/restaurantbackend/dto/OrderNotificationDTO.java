@@ -12,6 +12,8 @@ public class OrderNotificationDTO {
     private String tableNumber;
     private LocalDateTime createdAt;
     private String message;
+    // Durum değişikliğinin zamanı (aynı sipariş için art arda gelen değişiklikleri sıralamak için)
+    private LocalDateTime updatedAt;
 
     // Constructor'lar
     public OrderNotificationDTO() {
@@ -94,5 +96,13 @@ public class OrderNotificationDTO {
     public void setMessage(String message) {
         this.message = message;
     }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
 }
 
@@ -0,0 +1,46 @@
+package com.restaurant.restaurantbackend.dto;
+
+import java.util.List;
+
+/**
+ * Keyset (seek) sayfalı sipariş listesi.
+ * Sonraki sayfa için nextCursor aynı filtrelerle cursor parametresi olarak gönderilir; hasMore false ise son sayfadır.
+ */
+public class OrderPageDTO {
+    private List<OrderSummaryDTO> orders;
+    private String nextCursor;
+    private boolean hasMore;
+
+    public OrderPageDTO() {
+    }
+
+    public OrderPageDTO(List<OrderSummaryDTO> orders, String nextCursor, boolean hasMore) {
+        this.orders = orders;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    public List<OrderSummaryDTO> getOrders() {
+        return orders;
+    }
+
+    public void setOrders(List<OrderSummaryDTO> orders) {
+        this.orders = orders;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -0,0 +1,54 @@
+package com.restaurant.restaurantbackend.dto;
+
+/**
+ * Toplu durum güncellemesinde uygulanamayan istek.
+ * reason: "NOT_FOUND" (sipariş yok) veya "INVALID_TRANSITION" (mevcut durumdan geçiş yok)
+ */
+public class OrderStatusRejectionDTO {
+    private Long id;
+    private String currentStatus;
+    private String requestedStatus;
+    private String reason;
+
+    public OrderStatusRejectionDTO() {
+    }
+
+    public OrderStatusRejectionDTO(Long id, String currentStatus, String requestedStatus, String reason) {
+        this.id = id;
+        this.currentStatus = currentStatus;
+        this.requestedStatus = requestedStatus;
+        this.reason = reason;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getCurrentStatus() {
+        return currentStatus;
+    }
+
+    public void setCurrentStatus(String currentStatus) {
+        this.currentStatus = currentStatus;
+    }
+
+    public String getRequestedStatus() {
+        return requestedStatus;
+    }
+
+    public void setRequestedStatus(String requestedStatus) {
+        this.requestedStatus = requestedStatus;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+}
@@ -0,0 +1,33 @@
+package com.restaurant.restaurantbackend.dto;
+
+/**
+ * Toplu durum güncellemesinde tek bir (sipariş, yeni durum) çifti.
+ */
+public class OrderStatusUpdateDTO {
+    private Long id;
+    private String status;
+
+    public OrderStatusUpdateDTO() {
+    }
+
+    public OrderStatusUpdateDTO(Long id, String status) {
+        this.id = id;
+        this.status = status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,55 @@
+package com.restaurant.restaurantbackend.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Bir ürünün bugünkü satış adedi ve cirosu
+ */
+public class ProductSalesDTO {
+    private Long productId;
+    private String productName;
+    private long quantity;
+    private BigDecimal revenue;
+
+    public ProductSalesDTO() {
+    }
+
+    public ProductSalesDTO(Long productId, String productName, long quantity, BigDecimal revenue) {
+        this.productId = productId;
+        this.productName = productName;
+        this.quantity = quantity;
+        this.revenue = revenue;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public void setProductName(String productName) {
+        this.productName = productName;
+    }
+
+    public long getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(long quantity) {
+        this.quantity = quantity;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(BigDecimal revenue) {
+        this.revenue = revenue;
+    }
+}
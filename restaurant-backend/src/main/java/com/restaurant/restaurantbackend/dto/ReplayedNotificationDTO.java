@@ -0,0 +1,36 @@
+package com.restaurant.restaurantbackend.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+/**
+ * Tekrar oynatılan tek bildirim. payload, canlı yayındaki mesaj gövdesinin aynısıdır (ham JSON).
+ */
+public class ReplayedNotificationDTO {
+    private long seq;
+    @JsonRawValue
+    private String payload;
+
+    public ReplayedNotificationDTO() {
+    }
+
+    public ReplayedNotificationDTO(long seq, String payload) {
+        this.seq = seq;
+        this.payload = payload;
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public void setSeq(long seq) {
+        this.seq = seq;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+}
@@ -0,0 +1,100 @@
+package com.restaurant.restaurantbackend.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Canlı satış özeti: /api/analytics/live yanıtı ve /topic/analytics mesajı.
+ * Dilim listeleri eskiden yeniye sıralıdır; iptal edilen siparişler düşülmüştür.
+ */
+public class SalesAnalyticsDTO {
+    private LocalDateTime generatedAt;
+    private SalesBucketDTO today;
+    private double ordersPerMinute;
+    private List<SalesBucketDTO> lastHourByMinute;
+    private List<SalesBucketDTO> last24HoursByHour;
+    private List<SalesBucketDTO> last30DaysByDay;
+    private List<ProductSalesDTO> topProducts;
+    private List<TableSalesDTO> tables;
+
+    public SalesAnalyticsDTO() {
+    }
+
+    public SalesAnalyticsDTO(LocalDateTime generatedAt, SalesBucketDTO today, double ordersPerMinute,
+                             List<SalesBucketDTO> lastHourByMinute, List<SalesBucketDTO> last24HoursByHour,
+                             List<SalesBucketDTO> last30DaysByDay, List<ProductSalesDTO> topProducts,
+                             List<TableSalesDTO> tables) {
+        this.generatedAt = generatedAt;
+        this.today = today;
+        this.ordersPerMinute = ordersPerMinute;
+        this.lastHourByMinute = lastHourByMinute;
+        this.last24HoursByHour = last24HoursByHour;
+        this.last30DaysByDay = last30DaysByDay;
+        this.topProducts = topProducts;
+        this.tables = tables;
+    }
+
+    public LocalDateTime getGeneratedAt() {
+        return generatedAt;
+    }
+
+    public void setGeneratedAt(LocalDateTime generatedAt) {
+        this.generatedAt = generatedAt;
+    }
+
+    public SalesBucketDTO getToday() {
+        return today;
+    }
+
+    public void setToday(SalesBucketDTO today) {
+        this.today = today;
+    }
+
+    public double getOrdersPerMinute() {
+        return ordersPerMinute;
+    }
+
+    public void setOrdersPerMinute(double ordersPerMinute) {
+        this.ordersPerMinute = ordersPerMinute;
+    }
+
+    public List<SalesBucketDTO> getLastHourByMinute() {
+        return lastHourByMinute;
+    }
+
+    public void setLastHourByMinute(List<SalesBucketDTO> lastHourByMinute) {
+        this.lastHourByMinute = lastHourByMinute;
+    }
+
+    public List<SalesBucketDTO> getLast24HoursByHour() {
+        return last24HoursByHour;
+    }
+
+    public void setLast24HoursByHour(List<SalesBucketDTO> last24HoursByHour) {
+        this.last24HoursByHour = last24HoursByHour;
+    }
+
+    public List<SalesBucketDTO> getLast30DaysByDay() {
+        return last30DaysByDay;
+    }
+
+    public void setLast30DaysByDay(List<SalesBucketDTO> last30DaysByDay) {
+        this.last30DaysByDay = last30DaysByDay;
+    }
+
+    public List<ProductSalesDTO> getTopProducts() {
+        return topProducts;
+    }
+
+    public void setTopProducts(List<ProductSalesDTO> topProducts) {
+        this.topProducts = topProducts;
+    }
+
+    public List<TableSalesDTO> getTables() {
+        return tables;
+    }
+
+    public void setTables(List<TableSalesDTO> tables) {
+        this.tables = tables;
+    }
+}
@@ -0,0 +1,56 @@
+package com.restaurant.restaurantbackend.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Bir zaman dilimindeki (dakika / saat / gün) satış toplamı. start dilimin başlangıcıdır.
+ */
+public class SalesBucketDTO {
+    private LocalDateTime start;
+    private BigDecimal revenue;
+    private long orderCount;
+    private BigDecimal averageTicket;
+
+    public SalesBucketDTO() {
+    }
+
+    public SalesBucketDTO(LocalDateTime start, BigDecimal revenue, long orderCount, BigDecimal averageTicket) {
+        this.start = start;
+        this.revenue = revenue;
+        this.orderCount = orderCount;
+        this.averageTicket = averageTicket;
+    }
+
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    public void setStart(LocalDateTime start) {
+        this.start = start;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(BigDecimal revenue) {
+        this.revenue = revenue;
+    }
+
+    public long getOrderCount() {
+        return orderCount;
+    }
+
+    public void setOrderCount(long orderCount) {
+        this.orderCount = orderCount;
+    }
+
+    public BigDecimal getAverageTicket() {
+        return averageTicket;
+    }
+
+    public void setAverageTicket(BigDecimal averageTicket) {
+        this.averageTicket = averageTicket;
+    }
+}
@@ -0,0 +1,81 @@
+package com.restaurant.restaurantbackend.dto;
+
+import com.restaurant.restaurantbackend.model.Category;
+import com.restaurant.restaurantbackend.model.Product;
+import com.restaurant.restaurantbackend.model.RestaurantTable;
+
+import java.util.List;
+
+/**
+ * QR kod okutulduğunda açılan menü sayfasının ihtiyaç duyduğu her şey tek yanıtta:
+ * masa, aktif kategoriler (displayOrder sırasıyla), ürünler ve masanın açık siparişleri.
+ */
+public class TableBootstrapDTO {
+    private RestaurantTable table;
+    private List<Category> categories;
+    private List<Product> products;
+    private List<KitchenOrderDTO> openOrders;
+    private String menuEpoch;
+    private long menuVersion;
+
+    public TableBootstrapDTO() {
+    }
+
+    public TableBootstrapDTO(RestaurantTable table, List<Category> categories, List<Product> products,
+                             List<KitchenOrderDTO> openOrders, String menuEpoch, long menuVersion) {
+        this.table = table;
+        this.categories = categories;
+        this.products = products;
+        this.openOrders = openOrders;
+        this.menuEpoch = menuEpoch;
+        this.menuVersion = menuVersion;
+    }
+
+    public RestaurantTable getTable() {
+        return table;
+    }
+
+    public void setTable(RestaurantTable table) {
+        this.table = table;
+    }
+
+    public List<Category> getCategories() {
+        return categories;
+    }
+
+    public void setCategories(List<Category> categories) {
+        this.categories = categories;
+    }
+
+    public List<Product> getProducts() {
+        return products;
+    }
+
+    public void setProducts(List<Product> products) {
+        this.products = products;
+    }
+
+    public List<KitchenOrderDTO> getOpenOrders() {
+        return openOrders;
+    }
+
+    public void setOpenOrders(List<KitchenOrderDTO> openOrders) {
+        this.openOrders = openOrders;
+    }
+
+    public String getMenuEpoch() {
+        return menuEpoch;
+    }
+
+    public void setMenuEpoch(String menuEpoch) {
+        this.menuEpoch = menuEpoch;
+    }
+
+    public long getMenuVersion() {
+        return menuVersion;
+    }
+
+    public void setMenuVersion(long menuVersion) {
+        this.menuVersion = menuVersion;
+    }
+}
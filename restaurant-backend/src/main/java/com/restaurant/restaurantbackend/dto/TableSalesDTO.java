@@ -0,0 +1,55 @@
+package com.restaurant.restaurantbackend.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Bir masanın bugünkü sipariş sayısı ve cirosu
+ */
+public class TableSalesDTO {
+    private Long tableId;
+    private String tableNumber;
+    private long orderCount;
+    private BigDecimal revenue;
+
+    public TableSalesDTO() {
+    }
+
+    public TableSalesDTO(Long tableId, String tableNumber, long orderCount, BigDecimal revenue) {
+        this.tableId = tableId;
+        this.tableNumber = tableNumber;
+        this.orderCount = orderCount;
+        this.revenue = revenue;
+    }
+
+    public Long getTableId() {
+        return tableId;
+    }
+
+    public void setTableId(Long tableId) {
+        this.tableId = tableId;
+    }
+
+    public String getTableNumber() {
+        return tableNumber;
+    }
+
+    public void setTableNumber(String tableNumber) {
+        this.tableNumber = tableNumber;
+    }
+
+    public long getOrderCount() {
+        return orderCount;
+    }
+
+    public void setOrderCount(long orderCount) {
+        this.orderCount = orderCount;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(BigDecimal revenue) {
+        this.revenue = revenue;
+    }
+}
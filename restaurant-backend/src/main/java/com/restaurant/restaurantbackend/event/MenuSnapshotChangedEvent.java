@@ -0,0 +1,28 @@
+package com.restaurant.restaurantbackend.event;
+
+import com.restaurant.restaurantbackend.service.MenuSnapshot;
+
+/**
+ * Menü snapshot'ı yenilendiğinde yayınlanır.
+ * Menüden türetilen yapılar (arama indeksi vb.) eski ve yeni snapshot'ı
+ * karşılaştırarak sadece değişen ürünleri günceller.
+ */
+public class MenuSnapshotChangedEvent {
+
+    private final MenuSnapshot previous;
+    private final MenuSnapshot current;
+
+    public MenuSnapshotChangedEvent(MenuSnapshot previous, MenuSnapshot current) {
+        this.previous = previous;
+        this.current = current;
+    }
+
+    // İlk yüklemede null
+    public MenuSnapshot getPrevious() {
+        return previous;
+    }
+
+    public MenuSnapshot getCurrent() {
+        return current;
+    }
+}
@@ -0,0 +1,21 @@
+package com.restaurant.restaurantbackend.event;
+
+import com.restaurant.restaurantbackend.model.Order;
+
+/**
+ * Yeni bir sipariş kaydedildiğinde yayınlanır (durum değişiklikleri için OrderStatusChangedEvent).
+ * Dinleyiciler transaction commit edildikten sonra çalışır; böylece geri alınan değişiklikler
+ * bellekteki projeksiyonlara (mutfak panosu vb.) yansımaz.
+ */
+public class OrderChangedEvent {
+
+    private final Order order;
+
+    public OrderChangedEvent(Order order) {
+        this.order = order;
+    }
+
+    public Order getOrder() {
+        return order;
+    }
+}
@@ -0,0 +1,32 @@
+package com.restaurant.restaurantbackend.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * Bir siparişin durumu koşullu UPDATE ile değiştirildiğinde yayınlanır.
+ * Entity yüklenmediği için sadece değişen alanları taşır.
+ */
+public class OrderStatusChangedEvent {
+
+    private final Long orderId;
+    private final String status;
+    private final LocalDateTime updatedAt;
+
+    public OrderStatusChangedEvent(Long orderId, String status, LocalDateTime updatedAt) {
+        this.orderId = orderId;
+        this.status = status;
+        this.updatedAt = updatedAt;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,113 @@
+package com.restaurant.restaurantbackend.model;
+
+import com.restaurant.restaurantbackend.util.TurkishText;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Kanonik alerjen sözlüğü.
+ * Ürünlerdeki serbest metin alerjen bilgileri ("Laktoz içerir", "Ceviz içerir" vb.)
+ * ve kullanıcı girdileri ("süt", "dairy") bu listeye eşlenir. Her alerjen bir
+ * bit'e karşılık gelir; bkz. {@code ProductTraits}.
+ */
+public enum Allergen {
+    LAKTOZ("laktoz", "sut", "dairy", "milk", "lactose"),
+    GLUTEN("gluten", "bugday", "wheat"),
+    FISTIK("fistik", "yer fistig", "yerfistig", "peanut"),
+    KURUYEMIS("ceviz", "findik", "badem", "antep fistig", "kuruyemis", "walnut", "hazelnut", "almond"),
+    SUSAM("susam", "tahin", "sesame"),
+    YUMURTA("yumurta", "egg"),
+    SOYA("soya", "soy"),
+    BALIK("balik", "fish"),
+    KABUKLU("kabuklu", "karides", "midye", "shellfish", "shrimp"),
+    HARDAL("hardal", "mustard"),
+    KEREVIZ("kereviz", "celery"),
+    SULFIT("sulfit", "sulfite");
+
+    // Normalize edilmiş (TurkishText.fold) eş anlamlılar / kelime kökleri
+    private final List<String> synonyms;
+
+    Allergen(String... synonyms) {
+        this.synonyms = List.of(synonyms);
+    }
+
+    public long bit() {
+        return 1L << ordinal();
+    }
+
+    /**
+     * Ürün üzerindeki serbest metin alerjen bilgisinin kapsadığı alerjenler (bit maskesi)
+     */
+    public static long maskOf(String allergenText) {
+        String folded = TurkishText.fold(allergenText);
+        long mask = 0L;
+        for (Allergen allergen : values()) {
+            for (String synonym : allergen.synonyms) {
+                if (folded.contains(synonym)) {
+                    mask |= allergen.bit();
+                    break;
+                }
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Serbest metinde (örn. chatbot mesajı) bahsi geçen alerjenler. Kelimeler tam olarak veya
+     * MENTION_SUFFIXES'teki eklerden biriyle eşleştirilir: "sütsüz" → LAKTOZ, "glutensiz" → GLUTEN,
+     * "yer fıstığı" → FISTIK. Düz önek eşleşmesi yapılmaz; "söyle" (soyle) SOYA sayılmaz.
+     */
+    public static long mentionedIn(String text) {
+        List<String> tokens = TurkishText.tokenize(text);
+        long mask = 0L;
+        for (Allergen allergen : values()) {
+            for (String synonym : allergen.synonyms) {
+                if (containsPhrase(tokens, synonym.split(" "))) {
+                    mask |= allergen.bit();
+                    break;
+                }
+            }
+        }
+        return mask;
+    }
+
+    // Alerjen adından sonra gelebilecek ekler (normalize edilmiş): -sız/-suz, -lı/-lu, iyelik/belirtme
+    // (fıstığı, sütü) ve İngilizce çoğul (eggs)
+    private static final List<String> MENTION_SUFFIXES = List.of("", "siz", "suz", "li", "lu", "i", "u", "s");
+
+    // Çok kelimeli eş anlamlılarda son kelime dışındakiler tam eşleşmeli
+    private static boolean containsPhrase(List<String> tokens, String[] words) {
+        for (int start = 0; start + words.length <= tokens.size(); start++) {
+            boolean match = true;
+            for (int i = 0; i < words.length && match; i++) {
+                String token = tokens.get(start + i);
+                match = i < words.length - 1 ? token.equals(words[i]) : matchesWithSuffix(token, words[i]);
+            }
+            if (match) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matchesWithSuffix(String token, String word) {
+        return token.startsWith(word) && MENTION_SUFFIXES.contains(token.substring(word.length()));
+    }
+
+    /**
+     * API parametresini ("LAKTOZ", "laktoz", "süt", "gluten"...) kanonik alerjene çevirir
+     */
+    public static Optional<Allergen> resolve(String name) {
+        String folded = TurkishText.fold(name).trim();
+        if (folded.isEmpty()) {
+            return Optional.empty();
+        }
+        for (Allergen allergen : values()) {
+            if (allergen.name().equalsIgnoreCase(folded) || allergen.synonyms.contains(folded)) {
+                return Optional.of(allergen);
+            }
+        }
+        return Optional.empty();
+    }
+}
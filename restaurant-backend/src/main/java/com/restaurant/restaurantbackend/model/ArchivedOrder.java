@@ -0,0 +1,73 @@
+package com.restaurant.restaurantbackend.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Arşive taşınmış (teslim edilmiş / iptal edilmiş ve yeterince eski) sipariş.
+ * Satırlar OrderArchiveService tarafından SQL ile orders tablosundan taşınır; uygulama bu tabloya yazmaz.
+ * Masa numarası taşıma anında kopyalanır, masa sonradan silinse / yeniden adlandırılsa da raporlar değişmez.
+ */
+@Entity
+@Immutable
+@Table(name = "orders_archive", indexes = {
+        @Index(name = "idx_orders_archive_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_orders_archive_table_created_at", columnList = "table_id, created_at")
+})
+public class ArchivedOrder {
+
+    // orders tablosundaki ID aynen korunur
+    @Id
+    private Long id;
+
+    private String orderNumber;
+    private String status;
+    @Column(name = "table_id")
+    private Long tableId;
+    private String tableNumber;
+    private BigDecimal totalAmount;
+    private String paymentMethod;
+    private String paymentStatus;
+    private String customerNotes;
+    private int itemCount;
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime archivedAt;
+
+    @OneToMany(fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id")
+    private List<ArchivedOrderItem> items;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getOrderNumber() { return orderNumber; }
+    public void setOrderNumber(String orderNumber) { this.orderNumber = orderNumber; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public Long getTableId() { return tableId; }
+    public void setTableId(Long tableId) { this.tableId = tableId; }
+    public String getTableNumber() { return tableNumber; }
+    public void setTableNumber(String tableNumber) { this.tableNumber = tableNumber; }
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
+    public String getPaymentMethod() { return paymentMethod; }
+    public void setPaymentMethod(String paymentMethod) { this.paymentMethod = paymentMethod; }
+    public String getPaymentStatus() { return paymentStatus; }
+    public void setPaymentStatus(String paymentStatus) { this.paymentStatus = paymentStatus; }
+    public String getCustomerNotes() { return customerNotes; }
+    public void setCustomerNotes(String customerNotes) { this.customerNotes = customerNotes; }
+    public int getItemCount() { return itemCount; }
+    public void setItemCount(int itemCount) { this.itemCount = itemCount; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    public LocalDateTime getArchivedAt() { return archivedAt; }
+    public void setArchivedAt(LocalDateTime archivedAt) { this.archivedAt = archivedAt; }
+    public List<ArchivedOrderItem> getItems() { return items; }
+    public void setItems(List<ArchivedOrderItem> items) { this.items = items; }
+}
@@ -0,0 +1,39 @@
+package com.restaurant.restaurantbackend.model;
+
+import java.math.BigDecimal;
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Arşivlenmiş siparişin kalemi. Ürün adı taşıma anında kopyalanır (ürün menüden kaldırılmış olabilir).
+ */
+@Entity
+@Immutable
+@Table(name = "order_items_archive", indexes = @Index(name = "idx_order_items_archive_order_id", columnList = "order_id"))
+public class ArchivedOrderItem {
+
+    @Id
+    private Long id;
+
+    private Long productId;
+    private String productName;
+    private int quantity;
+    private BigDecimal unitPrice;
+    private BigDecimal subtotal;
+    private String notes;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Long getProductId() { return productId; }
+    public void setProductId(Long productId) { this.productId = productId; }
+    public String getProductName() { return productName; }
+    public void setProductName(String productName) { this.productName = productName; }
+    public int getQuantity() { return quantity; }
+    public void setQuantity(int quantity) { this.quantity = quantity; }
+    public BigDecimal getUnitPrice() { return unitPrice; }
+    public void setUnitPrice(BigDecimal unitPrice) { this.unitPrice = unitPrice; }
+    public BigDecimal getSubtotal() { return subtotal; }
+    public void setSubtotal(BigDecimal subtotal) { this.subtotal = subtotal; }
+    public String getNotes() { return notes; }
+    public void setNotes(String notes) { this.notes = notes; }
+}
@@ -0,0 +1,71 @@
+package com.restaurant.restaurantbackend.model;
+
+import java.time.LocalDateTime;
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Idempotency-Key ile yapılmış bir isteğin kaydedilmiş yanıtı.
+ * Bellekteki önbellekte bulunamayan (uygulama yeniden başladı, başka bir örnek işledi) tekrarlar buradan cevaplanır.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = @Index(name = "idx_idempotency_keys_expires_at", columnList = "expires_at"))
+public class IdempotencyRecord implements Persistable<String> {
+
+    // "kapsam:anahtar" (örn: "orders:3f6c...")
+    @Id
+    @Column(length = 300)
+    private String id;
+
+    // İstek gövdesinin SHA-256 özeti: aynı anahtar farklı bir istekle kullanılırsa reddedilir
+    @Column(length = 64, nullable = false)
+    private String requestHash;
+
+    private int responseStatus;
+
+    @Column(columnDefinition = "text")
+    private String responseBody;
+
+    private LocalDateTime createdAt;
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    // ID elle verildiği için save() her zaman INSERT yapsın (merge değil): aynı anahtarın
+    // ikinci kaydı birincil anahtar çakışmasıyla reddedilir
+    @Transient
+    private boolean isNew = true;
+
+    public IdempotencyRecord() {
+    }
+
+    public IdempotencyRecord(String id, String requestHash, int responseStatus, String responseBody,
+                             LocalDateTime createdAt, LocalDateTime expiresAt) {
+        this.id = id;
+        this.requestHash = requestHash;
+        this.responseStatus = responseStatus;
+        this.responseBody = responseBody;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public boolean isNew() { return isNew; }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() { this.isNew = false; }
+
+    @Override
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public String getRequestHash() { return requestHash; }
+    public void setRequestHash(String requestHash) { this.requestHash = requestHash; }
+    public int getResponseStatus() { return responseStatus; }
+    public void setResponseStatus(int responseStatus) { this.responseStatus = responseStatus; }
+    public String getResponseBody() { return responseBody; }
+    public void setResponseBody(String responseBody) { this.responseBody = responseBody; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+}
@@ -7,11 +7,18 @@ import java.util.List;
 import jakarta.persistence.*; // Kod kalabalığı olmasın diye yıldız koydum ama senin tekil importların da kalabilir
 
 @Entity
-@Table(name = "orders")
+// Sipariş listesi (status / masa filtresi + createdAt sıralaması) için indeksler
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_orders_status_created_at", columnList = "status, created_at"),
+        @Index(name = "idx_orders_table_created_at", columnList = "table_id, created_at")
+})
 public class Order {
 
+    // Sequence + pooled optimizer: ID'ler 50'lik bloklar halinde ayrılır, INSERT'ler JDBC batch ile gönderilebilir
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ordersSeq")
+    @SequenceGenerator(name = "ordersSeq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -24,6 +31,7 @@ public class Order {
     private String paymentMethod;
     private String paymentStatus;
     private String customerNotes;
+    @Column(name = "created_at")
     private LocalDateTime createdAt = LocalDateTime.now();
     private LocalDateTime updatedAt;
 
@@ -0,0 +1,63 @@
+package com.restaurant.restaurantbackend.model;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Sipariş durumları ve aralarındaki izinli geçişler.
+ * Veritabanında durum hâlâ String olarak tutulur (enum adı); bu sınıf sadece geçiş kurallarını taşır.
+ */
+public enum OrderStatus {
+    PENDING,
+    PREPARING,
+    READY,
+    DELIVERED,
+    CANCELLED;
+
+    static {
+        // Bir adım geri almaya (yanlış tıklama düzeltmesi) izin verilir; teslim/iptal sonrası değişiklik yok
+        PENDING.next = EnumSet.of(PREPARING, READY, CANCELLED);
+        PREPARING.next = EnumSet.of(PENDING, READY, CANCELLED);
+        READY.next = EnumSet.of(PREPARING, DELIVERED, CANCELLED);
+        DELIVERED.next = EnumSet.noneOf(OrderStatus.class);
+        CANCELLED.next = EnumSet.noneOf(OrderStatus.class);
+    }
+
+    private Set<OrderStatus> next;
+
+    public boolean canTransitionTo(OrderStatus target) {
+        return next.contains(target);
+    }
+
+    public boolean isTerminal() {
+        return next.isEmpty();
+    }
+
+    /**
+     * target durumuna geçilebilecek durumlar (UPDATE ... WHERE status IN (...) için)
+     */
+    public static Set<OrderStatus> sourcesOf(OrderStatus target) {
+        Set<OrderStatus> sources = EnumSet.noneOf(OrderStatus.class);
+        for (OrderStatus status : values()) {
+            if (status.canTransitionTo(target)) {
+                sources.add(status);
+            }
+        }
+        return sources;
+    }
+
+    /**
+     * İstekten gelen durum adını çözer. Tanınmayan durum için IllegalArgumentException fırlatır.
+     */
+    public static OrderStatus parse(String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Status cannot be null or empty");
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Geçersiz sipariş durumu: " + value);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.restaurant.restaurantbackend.model;
+
+import java.time.LocalDateTime;
+import jakarta.persistence.*;
+
+/**
+ * Gönderilmeyi bekleyen WebSocket bildirimi (transactional outbox).
+ * Bildirimi üreten işlemle aynı transaction'da yazılır; sadece commit edilen bildirimler
+ * NotificationOutboxService tarafından broker'a aktarılır.
+ */
+@Entity
+// İkinci indeks: bekleyen bir kaydın aynı hedef + anahtar için daha yeni bir kaydı olup olmadığı sorgusu
+@Table(name = "notification_outbox", indexes = {
+        @Index(name = "idx_notification_outbox_pending", columnList = "status, next_attempt_at, id"),
+        @Index(name = "idx_notification_outbox_coalesce", columnList = "destination, coalesce_key, id")
+})
+public class OutboxNotification {
+
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_SENT = "SENT";
+    public static final String STATUS_FAILED = "FAILED";
+    // Aynı hedef + anahtar için daha yeni bir bildirim var (aynı grupta veya daha önce gönderilmiş), bu gönderilmedi
+    public static final String STATUS_COALESCED = "COALESCED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notificationOutboxSeq")
+    @SequenceGenerator(name = "notificationOutboxSeq", sequenceName = "notification_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private String destination;
+
+    // Birleştirme anahtarı (örn: "order:42"). Aynı hedefe aynı anahtarla gelen bildirimlerden
+    // sadece en yenisi gönderilir; null ise bildirim her zaman gönderilir.
+    @Column(name = "coalesce_key", length = 100)
+    private String coalesceKey;
+
+    // Hazır JSON gövde: aktarımda tekrar serileştirilmez
+    @Column(columnDefinition = "text", nullable = false)
+    private String payload;
+
+    @Column(length = 16, nullable = false)
+    private String status;
+
+    private int attempts;
+    private LocalDateTime createdAt;
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+    private LocalDateTime dispatchedAt;
+
+    @Column(length = 500)
+    private String lastError;
+
+    public OutboxNotification() {
+    }
+
+    public OutboxNotification(String destination, String coalesceKey, String payload, LocalDateTime createdAt) {
+        this.destination = destination;
+        this.coalesceKey = coalesceKey;
+        this.payload = payload;
+        this.status = STATUS_PENDING;
+        this.createdAt = createdAt;
+        this.nextAttemptAt = createdAt;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getDestination() { return destination; }
+    public void setDestination(String destination) { this.destination = destination; }
+    public String getCoalesceKey() { return coalesceKey; }
+    public void setCoalesceKey(String coalesceKey) { this.coalesceKey = coalesceKey; }
+    public String getPayload() { return payload; }
+    public void setPayload(String payload) { this.payload = payload; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    public LocalDateTime getNextAttemptAt() { return nextAttemptAt; }
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) { this.nextAttemptAt = nextAttemptAt; }
+    public LocalDateTime getDispatchedAt() { return dispatchedAt; }
+    public void setDispatchedAt(LocalDateTime dispatchedAt) { this.dispatchedAt = dispatchedAt; }
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+}
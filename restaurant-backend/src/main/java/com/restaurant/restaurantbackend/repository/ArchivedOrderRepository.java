@@ -0,0 +1,14 @@
+package com.restaurant.restaurantbackend.repository;
+
+import java.util.Optional;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import com.restaurant.restaurantbackend.model.ArchivedOrder;
+
+@Repository
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, Long>, ArchivedOrderRepositoryCustom {
+    // Arşivlenmiş sipariş, kalemleriyle birlikte tek sorguda
+    @EntityGraph(attributePaths = "items")
+    Optional<ArchivedOrder> findWithItemsById(Long id);
+}
@@ -0,0 +1,18 @@
+package com.restaurant.restaurantbackend.repository;
+
+import com.restaurant.restaurantbackend.dto.OrderSummaryDTO;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ArchivedOrderRepositoryCustom {
+
+    /**
+     * Arşivdeki siparişler için OrderRepositoryCustom.findSummaries ile aynı filtre ve keyset sayfalama.
+     * Kalem sayısı arşivde kolon olarak tutulduğu için alt sorgu yoktur.
+     */
+    List<OrderSummaryDTO> findSummaries(Collection<String> statuses, Long tableId,
+                                        LocalDateTime from, LocalDateTime to,
+                                        LocalDateTime afterCreatedAt, Long afterId, int limit);
+}
@@ -0,0 +1,71 @@
+package com.restaurant.restaurantbackend.repository;
+
+import com.restaurant.restaurantbackend.dto.OrderSummaryDTO;
+import com.restaurant.restaurantbackend.model.ArchivedOrder;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class ArchivedOrderRepositoryImpl implements ArchivedOrderRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<OrderSummaryDTO> findSummaries(Collection<String> statuses, Long tableId,
+                                               LocalDateTime from, LocalDateTime to,
+                                               LocalDateTime afterCreatedAt, Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ArchivedOrder> query = cb.createQuery(ArchivedOrder.class);
+        Root<ArchivedOrder> order = query.from(ArchivedOrder.class);
+
+        List<Predicate> where = new ArrayList<>();
+        if (statuses != null && !statuses.isEmpty()) {
+            where.add(order.get("status").in(statuses));
+        }
+        if (tableId != null) {
+            where.add(cb.equal(order.get("tableId"), tableId));
+        }
+        if (from != null) {
+            where.add(cb.greaterThanOrEqualTo(order.get("createdAt"), from));
+        }
+        if (to != null) {
+            where.add(cb.lessThan(order.get("createdAt"), to));
+        }
+        if (afterCreatedAt != null && afterId != null) {
+            where.add(cb.or(
+                    cb.lessThan(order.get("createdAt"), afterCreatedAt),
+                    cb.and(cb.equal(order.get("createdAt"), afterCreatedAt), cb.lessThan(order.get("id"), afterId))));
+        }
+        query.select(order)
+                .where(where.toArray(new Predicate[0]))
+                .orderBy(cb.desc(order.get("createdAt")), cb.desc(order.get("id")));
+
+        // items LAZY olduğu için sadece orders_archive okunur
+        List<OrderSummaryDTO> result = new ArrayList<>();
+        for (ArchivedOrder row : entityManager.createQuery(query).setMaxResults(limit).getResultList()) {
+            result.add(new OrderSummaryDTO(
+                    row.getId(),
+                    row.getOrderNumber(),
+                    row.getStatus(),
+                    row.getTableId(),
+                    row.getTableNumber(),
+                    row.getTotalAmount(),
+                    row.getPaymentMethod(),
+                    row.getPaymentStatus(),
+                    row.getItemCount(),
+                    row.getCreatedAt(),
+                    row.getUpdatedAt(),
+                    null));
+        }
+        return result;
+    }
+}
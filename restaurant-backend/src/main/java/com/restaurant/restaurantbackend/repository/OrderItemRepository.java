@@ -1,10 +1,17 @@
 package com.restaurant.restaurantbackend.repository;
 
+import java.util.Collection;
+import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import com.restaurant.restaurantbackend.model.OrderItem;
 
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
+    // Birden fazla siparişin kalemleri tek sorguda (ürünleriyle birlikte)
+    @Query("select i from OrderItem i left join fetch i.product where i.order.id in :orderIds")
+    List<OrderItem> findByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
 }
 
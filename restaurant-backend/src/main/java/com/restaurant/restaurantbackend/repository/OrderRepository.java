@@ -1,15 +1,34 @@
 package com.restaurant.restaurantbackend.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import com.restaurant.restaurantbackend.model.Order;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderRepositoryCustom {
     // Belirli bir masaya ait tüm siparişleri bulmak için.
     List<Order> findByRestaurantTableId(Long tableId);
 
     // Belirli bir duruma sahip tüm siparişleri bulmak için (örn: "HAZIRLANIYOR").
     List<Order> findByStatus(String status);
+
+    Optional<Order> findByOrderNumber(String orderNumber);
+
+    // Sadece durum kolonu (koşullu güncelleme neden başarısız oldu sorusu için)
+    @Query("select o.status from Order o where o.id = :id")
+    Optional<String> findStatusById(@Param("id") Long id);
+
+    // [id, status] çiftleri
+    @Query("select o.id, o.status from Order o where o.id in :ids")
+    List<Object[]> findStatusesByIds(@Param("ids") Collection<Long> ids);
+
+    // Verilen durumlarda olmayan (aktif) tüm siparişler, kalemleri ve masalarıyla birlikte
+    @EntityGraph(attributePaths = {"restaurantTable", "orderItems"})
+    List<Order> findByStatusNotIn(Collection<String> statuses);
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.restaurant.restaurantbackend.repository;
+
+import com.restaurant.restaurantbackend.dto.OrderNotificationDTO;
+import com.restaurant.restaurantbackend.dto.OrderSummaryDTO;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface OrderRepositoryCustom {
+
+    /**
+     * (createdAt, id) üzerinde azalan sırada keyset sayfalama ile sipariş özetleri.
+     * Filtre parametreleri null ise uygulanmaz; afterCreatedAt/afterId önceki sayfanın son kaydıdır.
+     * Sipariş kalemleri yüklenmez, sadece sayıları döner.
+     */
+    List<OrderSummaryDTO> findSummaries(Collection<String> statuses, Long tableId,
+                                        LocalDateTime from, LocalDateTime to,
+                                        LocalDateTime afterCreatedAt, Long afterId, int limit);
+
+    /**
+     * ids içindeki ve durumu fromStatuses'tan biri olan siparişleri kilitleyip status durumuna geçirir
+     * (SELECT ... FOR UPDATE, toplu UPDATE, bildirim alanları için SELECT; tüm veritabanlarında çalışır).
+     * updatedAt kilit alındıktan sonra belirlenir: aynı siparişi sırayla değiştiren iki transaction'dan
+     * sonra commit edilenin zamanı her zaman daha büyüktür.
+     * Sadece gerçekten güncellenen satırlar döner (message alanı boş, updatedAt dolu).
+     */
+    List<OrderNotificationDTO> updateStatus(Collection<Long> ids, String status, Collection<String> fromStatuses);
+}
@@ -0,0 +1,152 @@
+package com.restaurant.restaurantbackend.repository;
+
+import com.restaurant.restaurantbackend.dto.OrderNotificationDTO;
+import com.restaurant.restaurantbackend.dto.OrderSummaryDTO;
+import com.restaurant.restaurantbackend.model.Order;
+import com.restaurant.restaurantbackend.model.OrderItem;
+import com.restaurant.restaurantbackend.model.RestaurantTable;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * OrderRepository'nin Spring Data ile türetilemeyen sorguları.
+ * Özetler entity olarak değil tuple olarak okunur; EAGER orderItems ilişkisi tetiklenmez.
+ */
+public class OrderRepositoryImpl implements OrderRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<OrderSummaryDTO> findSummaries(Collection<String> statuses, Long tableId,
+                                               LocalDateTime from, LocalDateTime to,
+                                               LocalDateTime afterCreatedAt, Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Order> order = query.from(Order.class);
+        Join<Order, RestaurantTable> table = order.join("restaurantTable", JoinType.LEFT);
+
+        Subquery<Long> itemCount = query.subquery(Long.class);
+        Root<OrderItem> item = itemCount.from(OrderItem.class);
+        itemCount.select(cb.count(item)).where(cb.equal(item.get("order"), order));
+
+        List<Predicate> where = new ArrayList<>();
+        if (statuses != null && !statuses.isEmpty()) {
+            where.add(order.get("status").in(statuses));
+        }
+        if (tableId != null) {
+            where.add(cb.equal(order.get("restaurantTable").get("id"), tableId));
+        }
+        if (from != null) {
+            where.add(cb.greaterThanOrEqualTo(order.get("createdAt"), from));
+        }
+        if (to != null) {
+            where.add(cb.lessThan(order.get("createdAt"), to));
+        }
+        if (afterCreatedAt != null && afterId != null) {
+            // Seek koşulu: (createdAt, id) < (afterCreatedAt, afterId)
+            where.add(cb.or(
+                    cb.lessThan(order.get("createdAt"), afterCreatedAt),
+                    cb.and(cb.equal(order.get("createdAt"), afterCreatedAt), cb.lessThan(order.get("id"), afterId))));
+        }
+
+        query.multiselect(
+                order.get("id"),
+                order.get("orderNumber"),
+                order.get("status"),
+                table.get("id"),
+                table.get("tableNumber"),
+                order.get("totalAmount"),
+                order.get("paymentMethod"),
+                order.get("paymentStatus"),
+                itemCount,
+                order.get("createdAt"),
+                order.get("updatedAt"))
+                .where(where.toArray(new Predicate[0]))
+                .orderBy(cb.desc(order.get("createdAt")), cb.desc(order.get("id")));
+
+        List<OrderSummaryDTO> result = new ArrayList<>();
+        for (Tuple row : entityManager.createQuery(query).setMaxResults(limit).getResultList()) {
+            Long count = row.get(8, Long.class);
+            result.add(new OrderSummaryDTO(
+                    row.get(0, Long.class),
+                    row.get(1, String.class),
+                    row.get(2, String.class),
+                    row.get(3, Long.class),
+                    row.get(4, String.class),
+                    row.get(5, BigDecimal.class),
+                    row.get(6, String.class),
+                    row.get(7, String.class),
+                    count == null ? 0L : count,
+                    row.get(9, LocalDateTime.class),
+                    row.get(10, LocalDateTime.class),
+                    null));
+        }
+        return result;
+    }
+
+    @Override
+    public List<OrderNotificationDTO> updateStatus(Collection<Long> ids, String status, Collection<String> fromStatuses) {
+        if (ids.isEmpty() || fromStatuses.isEmpty()) {
+            return List.of();
+        }
+        // 1) Geçişe izin veren siparişleri kilitle (SELECT ... FOR UPDATE). Aynı siparişi değiştiren ikinci
+        //    transaction burada bekler ve kilit bırakıldığında yeni durumu görür; geçiş artık geçersizse eler.
+        List<Long> lockedIds = entityManager.createQuery(
+                        "select o.id from Order o where o.id in :ids and o.status in :fromStatuses", Long.class)
+                .setParameter("ids", ids)
+                .setParameter("fromStatuses", fromStatuses)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList();
+        if (lockedIds.isEmpty()) {
+            return List.of();
+        }
+
+        // 2) Sadece kilitlenen satırlar güncellenir (sipariş entity'leri yüklenmez).
+        //    Zaman kilitten sonra alınır; önceki değişikliğin zamanından küçük olamaz
+        LocalDateTime updatedAt = LocalDateTime.now();
+        entityManager.createQuery("update Order o set o.status = :status, o.updatedAt = :updatedAt where o.id in :ids")
+                .setParameter("status", status)
+                .setParameter("updatedAt", updatedAt)
+                .setParameter("ids", lockedIds)
+                .executeUpdate();
+
+        // 3) Bildirim için gereken alanlar
+        List<Tuple> rows = entityManager.createQuery(
+                        "select o.id, o.orderNumber, o.status, o.totalAmount, t.id, t.tableNumber, o.createdAt "
+                                + "from Order o left join o.restaurantTable t where o.id in :ids order by o.id",
+                        Tuple.class)
+                .setParameter("ids", lockedIds)
+                .getResultList();
+        List<OrderNotificationDTO> result = new ArrayList<>();
+        for (Tuple row : rows) {
+            OrderNotificationDTO notification = new OrderNotificationDTO(
+                    row.get(0, Long.class),
+                    row.get(1, String.class),
+                    row.get(2, String.class),
+                    row.get(3, BigDecimal.class),
+                    row.get(4, Long.class),
+                    row.get(5, String.class),
+                    row.get(6, LocalDateTime.class),
+                    null);
+            notification.setUpdatedAt(updatedAt);
+            result.add(notification);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,41 @@
+package com.restaurant.restaurantbackend.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import com.restaurant.restaurantbackend.model.OutboxNotification;
+
+@Repository
+public interface OutboxNotificationRepository extends JpaRepository<OutboxNotification, Long> {
+    // Zamanı gelmiş bekleyen bildirimler, yazılma sırasıyla. Başka bir örneğin kilitlediği satırlar atlanır.
+    @Query(value = "SELECT * FROM notification_outbox WHERE status = 'PENDING' AND next_attempt_at <= :now "
+            + "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxNotification> claimPending(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    // Verilen kayıtlardan, aynı hedef + anahtar için daha yeni bekleyen veya gönderilmiş kaydı olanlar.
+    // Yeniden denenen eski bir bildirim, başka bir grupta gönderilmiş yenisinin üzerine yazılmasın diye kullanılır.
+    @Query("select o.id from OutboxNotification o where o.id in :ids and exists ("
+            + "select 1 from OutboxNotification n where n.destination = o.destination "
+            + "and n.coalesceKey = o.coalesceKey and n.id > o.id and n.status in ('PENDING', 'SENT'))")
+    List<Long> findSupersededIds(@Param("ids") Collection<Long> ids);
+
+    // Gecikme metriği için en eski bekleyen bildirimin yazılma zamanı
+    @Query("select min(n.createdAt) from OutboxNotification n where n.status = 'PENDING'")
+    Optional<LocalDateTime> findOldestPendingCreatedAt();
+
+    @Query("select count(n) from OutboxNotification n where n.status = 'PENDING'")
+    long countPending();
+
+    // Gönderilmiş / vazgeçilmiş eski kayıtların temizlenmesi
+    @Modifying
+    @Transactional
+    @Query("delete from OutboxNotification n where n.status <> 'PENDING' and n.createdAt < :before")
+    int deleteFinishedBefore(@Param("before") LocalDateTime before);
+}
@@ -1,7 +1,9 @@
 package com.restaurant.restaurantbackend.repository;
 
 import java.util.List;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import com.restaurant.restaurantbackend.model.Product;
 
@@ -10,4 +12,10 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     // Spring Data JPA, metot isminden ne yapması gerektiğini anlar.
     // Bu metot, "Verilen categoryId'ye ait tüm ürünleri bul" anlamına gelir.
     List<Product> findByCategoryId(Long categoryId);
+
+    // Menü için ürünleri kategori ve alerjen listesiyle birlikte TEK sorguda yükler.
+    // findAll() her ürün için ayrıca product_allergens sorgusu atar (N+1).
+    @EntityGraph(attributePaths = {"category", "allergens"})
+    @Query("select distinct p from Product p")
+    List<Product> findAllForMenu();
 }
\ No newline at end of file
@@ -12,26 +12,39 @@ import java.util.Optional;
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
-    public CategoryService(CategoryRepository categoryRepository) {
+    private final MenuCacheService menuCacheService;
+
+    public CategoryService(CategoryRepository categoryRepository, MenuCacheService menuCacheService) {
         this.categoryRepository = categoryRepository;
+        this.menuCacheService = menuCacheService;
+    }
+
+    /**
+     * Güncel menü snapshot'ı. Liste ve versiyon (ETag) aynı snapshot'tan okunmalıdır.
+     */
+    public MenuSnapshot getMenuSnapshot() {
+        return menuCacheService.getSnapshot();
     }
 
+    // Okuma işlemleri bellekteki menü snapshot'ından cevaplanır (veritabanına gidilmez)
     public List<Category> getAllCategories() {
-        return categoryRepository.findAll();
+        return menuCacheService.getSnapshot().getCategories();
     }
 
     public Optional<Category> getCategoryById(@NonNull Long id) {
         if (id == null) {
             throw new IllegalArgumentException("Category ID cannot be null");
         }
-        return categoryRepository.findById(id);
+        return Optional.ofNullable(menuCacheService.getSnapshot().getCategory(id));
     }
 
     public Category createOrUpdateCategory(@NonNull Category category) {
         if (category == null) {
             throw new IllegalArgumentException("Category cannot be null");
         }
-        return categoryRepository.save(category);
+        Category savedCategory = categoryRepository.save(category);
+        menuCacheService.refreshAfterCommit();
+        return savedCategory;
     }
 
     public void deleteCategory(@NonNull Long id) {
@@ -39,5 +52,6 @@ public class CategoryService {
             throw new IllegalArgumentException("Category ID cannot be null");
         }
         categoryRepository.deleteById(id);
+        menuCacheService.refreshAfterCommit();
     }
 }
\ No newline at end of file
@@ -1,7 +1,7 @@
 package com.restaurant.restaurantbackend.service;
 
+import com.restaurant.restaurantbackend.model.Allergen;
 import com.restaurant.restaurantbackend.model.Product;
-import com.restaurant.restaurantbackend.repository.ProductRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -20,7 +20,7 @@ import java.util.stream.Collectors;
 @Service
 public class ChatbotService {
 
-    private final ProductRepository productRepository;
+    private final MenuCacheService menuCacheService;
     private final RestTemplate restTemplate;
     
     @Value("${gemini.api.key:}")
@@ -30,8 +30,8 @@ public class ChatbotService {
     private String geminiApiUrl;
 
     @Autowired
-    public ChatbotService(ProductRepository productRepository, RestTemplate restTemplate) {
-        this.productRepository = productRepository;
+    public ChatbotService(MenuCacheService menuCacheService, RestTemplate restTemplate) {
+        this.menuCacheService = menuCacheService;
         this.restTemplate = restTemplate;
     }
 
@@ -42,8 +42,8 @@ public class ChatbotService {
         }
 
         try {
-            // Menü bilgilerini al
-            List<Product> products = productRepository.findAll();
+            // Menü bilgilerini al (bellekteki snapshot; alerjenler ve kategoriler zaten yüklü)
+            List<Product> products = menuCacheService.getSnapshot().getProducts();
             String menuContext = buildMenuContext(products);
 
             // Google Gemini API'ye istek gönder
@@ -187,9 +187,9 @@ public class ChatbotService {
         
         // Basit kural tabanlı yanıtlar
         if (message.contains("vegan") || message.contains("vejetaryen")) {
-            List<Product> veganProducts = productRepository.findAll().stream()
-                .filter(p -> (p.getIsVegan() != null && p.getIsVegan()) || 
-                           (p.getIsVegetarian() != null && p.getIsVegetarian()))
+            // Vegan ürünler de vejetaryen bayrağı taşır (bkz. ProductTraits)
+            List<Product> veganProducts = menuCacheService.getSnapshot()
+                .filterProducts(null, MenuFilter.of(0L, ProductTraits.VEGETARIAN)).stream()
                 .limit(5)
                 .collect(Collectors.toList());
             
@@ -221,44 +221,15 @@ public class ChatbotService {
             List<Product> recommendedProducts;
             
             if (hasAllergenRestriction) {
-                // Alerjen filtreleme
-                String lowerMessage = message.toLowerCase();
-                recommendedProducts = productRepository.findAll().stream()
-                    .filter(p -> {
-                        // Laktoz kontrolü
-                        if (lowerMessage.contains("laktoz") || lowerMessage.contains("süt")) {
-                            if (p.getAllergens() != null) {
-                                boolean hasLactose = p.getAllergens().stream()
-                                    .anyMatch(a -> a.toLowerCase().contains("laktoz") || 
-                                                  a.toLowerCase().contains("süt") ||
-                                                  a.toLowerCase().contains("dairy"));
-                                if (hasLactose) return false;
-                            }
-                        }
-                        // Gluten kontrolü
-                        if (lowerMessage.contains("gluten")) {
-                            if (p.getAllergens() != null) {
-                                boolean hasGluten = p.getAllergens().stream()
-                                    .anyMatch(a -> a.toLowerCase().contains("gluten"));
-                                if (hasGluten) return false;
-                            }
-                        }
-                        // Fıstık kontrolü
-                        if (lowerMessage.contains("fıstık")) {
-                            if (p.getAllergens() != null) {
-                                boolean hasPeanut = p.getAllergens().stream()
-                                    .anyMatch(a -> a.toLowerCase().contains("fıstık") || 
-                                                  a.toLowerCase().contains("peanut"));
-                                if (hasPeanut) return false;
-                            }
-                        }
-                        return true;
-                    })
+                // Alerjen filtreleme: mesajda geçen alerjenler (laktoz/süt/dairy, gluten, fıstık...)
+                // kanonik sözlüğe eşlenir ve menü snapshot'ındaki bit maskeleriyle filtrelenir
+                MenuFilter filter = MenuFilter.of(Allergen.mentionedIn(userMessage), 0L);
+                recommendedProducts = menuCacheService.getSnapshot().filterProducts(null, filter).stream()
                     .limit(10)
                     .collect(Collectors.toList());
             } else {
                 // Normal öneri
-                recommendedProducts = productRepository.findAll().stream()
+                recommendedProducts = menuCacheService.getSnapshot().getProducts().stream()
                     .limit(10)
                     .collect(Collectors.toList());
             }
@@ -0,0 +1,44 @@
+package com.restaurant.restaurantbackend.service;
+
+import java.time.Instant;
+
+/**
+ * Bir veri kümesinin (menü, masalar) içerik versiyonu.
+ * ETag ve Last-Modified değerleri her istekte değil, veri her değiştiğinde bir kez hesaplanır.
+ */
+public final class ContentVersion {
+
+    // Uygulama yeniden başladığında versiyon sayaçları sıfırlanır; eski ETag'lerle çakışmaması için
+    private static final String BOOT_ID = Long.toString(System.currentTimeMillis(), 36);
+
+    private final long version;
+    private final String etag;
+    // Aynı içeriğin gzip'li gövdesi için (güçlü ETag'ler içerik kodlamaları arasında paylaşılamaz)
+    private final String gzipEtag;
+    private final Instant lastModified;
+
+    private ContentVersion(long version, String etag, Instant lastModified) {
+        this.version = version;
+        this.etag = etag;
+        this.gzipEtag = etag.substring(0, etag.length() - 1) + "-gz\"";
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * Bu uygulama sürecine özgü kimlik. Versiyon numaraları sadece aynı epoch içinde karşılaştırılabilir.
+     */
+    public static String getBootId() {
+        return BOOT_ID;
+    }
+
+    public static ContentVersion of(String name, long version, Instant lastModified) {
+        String etag = "\"" + name + "-" + BOOT_ID + "-" + version + "\"";
+        return new ContentVersion(version, etag, lastModified);
+    }
+
+    public long getVersion() { return version; }
+    public String getEtag() { return etag; }
+    public String getGzipEtag() { return gzipEtag; }
+    public Instant getLastModified() { return lastModified; }
+    public long getLastModifiedMillis() { return lastModified.toEpochMilli(); }
+}
@@ -0,0 +1,224 @@
+package com.restaurant.restaurantbackend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restaurant.restaurantbackend.model.IdempotencyRecord;
+import com.restaurant.restaurantbackend.repository.IdempotencyRecordRepository;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key başlığı ile gelen oluşturma isteklerinin tekrarını engeller.
+ * İlk istek çalıştırılır ve başarılı yanıtı hem bellekteki sınırlı (LRU + TTL) önbelleğe hem de
+ * idempotency_keys tablosuna yazılır. Aynı anahtarla gelen tekrar, doğrulama / kayıt / bildirim
+ * yeniden çalıştırılmadan orijinal yanıtla cevaplanır.
+ * Kayıt, asıl işlemle aynı transaction'da yazılır; farklı örneklerde aynı anda çalışan iki tekrardan
+ * ikincisi birincil anahtar çakışmasıyla geri alınır.
+ */
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 200;
+
+    private final IdempotencyRecordRepository recordRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+
+    private final Map<String, StoredResponse> cache;
+    // Şu an işlenmekte olan anahtarlar: eşzamanlı çift tıklamada ikinci istek beklemeden 409 alır
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    public IdempotencyService(IdempotencyRecordRepository recordRepository,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${app.idempotency.ttl-hours:24}") long ttlHours,
+                              @Value("${app.idempotency.cache-size:10000}") int cacheSize) {
+        this.recordRepository = recordRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = Duration.ofHours(ttlHours);
+        this.cache = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * İstekte Idempotency-Key yoksa action doğrudan çalışır. Varsa aynı kapsam + anahtar için action
+     * en fazla bir kez başarıyla çalışır; sonraki çağrılar kaydedilmiş yanıtı döner. Sadece 2xx yanıtlar
+     * saklanır, hata alan istek aynı anahtarla düzeltilip tekrar gönderilebilir.
+     */
+    public ResponseEntity<?> execute(String scope, HttpServletRequest request, Supplier<ResponseEntity<?>> action) {
+        String key = request.getHeader(HEADER);
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            return error(HttpStatus.BAD_REQUEST, HEADER + " en fazla " + MAX_KEY_LENGTH + " karakter olabilir");
+        }
+        String id = scope + ":" + key;
+        String requestHash = hash(request);
+
+        Optional<StoredResponse> stored = lookup(id);
+        if (stored.isPresent()) {
+            return replay(stored.get(), requestHash);
+        }
+
+        if (!inFlight.add(id)) {
+            return error(HttpStatus.CONFLICT, "Bu istek hâlâ işleniyor");
+        }
+        try {
+            // İşlem başlamadan hemen önce başka bir örnek tamamlamış olabilir
+            stored = lookup(id);
+            if (stored.isPresent()) {
+                return replay(stored.get(), requestHash);
+            }
+            StoredResponse[] saved = new StoredResponse[1];
+            ResponseEntity<?> response;
+            try {
+                response = transactionTemplate.execute(status -> {
+                    ResponseEntity<?> result = action.get();
+                    if (!result.getStatusCode().is2xxSuccessful()) {
+                        // Hatalı istek saklanmaz; yarım kalmış değişiklikler de geri alınır
+                        status.setRollbackOnly();
+                        return result;
+                    }
+                    LocalDateTime now = LocalDateTime.now();
+                    saved[0] = new StoredResponse(requestHash, result.getStatusCode().value(),
+                            toJson(result.getBody()), now.plus(ttl));
+                    recordRepository.save(new IdempotencyRecord(id, requestHash, saved[0].status, saved[0].body,
+                            now, saved[0].expiresAt));
+                    return result;
+                });
+            } catch (DataIntegrityViolationException e) {
+                // Aynı anahtar başka bir örnekte önce commit edildi: bu işlem geri alındı, onun yanıtını dön
+                return lookup(id).<ResponseEntity<?>>map(entry -> replay(entry, requestHash))
+                        .orElseThrow(() -> e);
+            }
+            // Önbelleğe sadece commit başarılı olduktan sonra
+            if (saved[0] != null) {
+                synchronized (cache) {
+                    cache.put(id, saved[0]);
+                }
+            }
+            return response;
+        } finally {
+            inFlight.remove(id);
+        }
+    }
+
+    // Süresi dolmuş kayıtların temizlenmesi (varsayılan: saatte bir)
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (cache) {
+            cache.values().removeIf(entry -> entry.expiresAt.isBefore(now));
+        }
+        int deleted = recordRepository.deleteExpired(now);
+        if (deleted > 0) {
+            System.out.println("🧹 Süresi dolmuş " + deleted + " idempotency kaydı silindi");
+        }
+    }
+
+    private Optional<StoredResponse> lookup(String id) {
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (cache) {
+            StoredResponse entry = cache.get(id);
+            if (entry != null) {
+                if (entry.expiresAt.isAfter(now)) {
+                    return Optional.of(entry);
+                }
+                cache.remove(id);
+            }
+        }
+        // Bellekte yok: yeniden başlatma veya başka bir örnek olabilir, kalıcı tabloya bak
+        return recordRepository.findById(id)
+                .filter(record -> record.getExpiresAt().isAfter(now))
+                .map(record -> {
+                    StoredResponse entry = new StoredResponse(record.getRequestHash(), record.getResponseStatus(),
+                            record.getResponseBody(), record.getExpiresAt());
+                    synchronized (cache) {
+                        cache.put(id, entry);
+                    }
+                    return entry;
+                });
+    }
+
+    private ResponseEntity<?> replay(StoredResponse entry, String requestHash) {
+        if (!entry.requestHash.equals(requestHash)) {
+            return error(HttpStatus.UNPROCESSABLE_ENTITY, "Bu " + HEADER + " farklı bir istek için kullanılmış");
+        }
+        return ResponseEntity.status(entry.status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(REPLAYED_HEADER, "true")
+                .body(entry.body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ResponseEntity<?> error(HttpStatus status, String message) {
+        return ResponseEntity.status(status).body(Map.of("message", message));
+    }
+
+    private String toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Yanıt JSON'a çevrilemedi", e);
+        }
+    }
+
+    // Ham istek gövdesinin özeti (gövde IdempotencyRequestFilter tarafından saklanır)
+    private static String hash(HttpServletRequest request) {
+        ContentCachingRequestWrapper wrapper = WebUtils.getNativeRequest(request, ContentCachingRequestWrapper.class);
+        byte[] body = wrapper != null ? wrapper.getContentAsByteArray() : new byte[0];
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(request.getRequestURI().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("İstek özeti hesaplanamadı", e);
+        }
+    }
+
+    private static final class StoredResponse {
+        private final String requestHash;
+        private final int status;
+        private final String body;
+        private final LocalDateTime expiresAt;
+
+        private StoredResponse(String requestHash, int status, String body, LocalDateTime expiresAt) {
+            this.requestHash = requestHash;
+            this.status = status;
+            this.body = body;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
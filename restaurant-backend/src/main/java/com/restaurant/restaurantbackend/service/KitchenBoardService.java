@@ -0,0 +1,262 @@
+package com.restaurant.restaurantbackend.service;
+
+import com.restaurant.restaurantbackend.dto.KitchenBoardDTO;
+import com.restaurant.restaurantbackend.dto.KitchenOrderDTO;
+import com.restaurant.restaurantbackend.dto.KitchenOrderItemDTO;
+import com.restaurant.restaurantbackend.event.OrderChangedEvent;
+import com.restaurant.restaurantbackend.event.OrderStatusChangedEvent;
+import com.restaurant.restaurantbackend.model.Order;
+import com.restaurant.restaurantbackend.model.OrderItem;
+import com.restaurant.restaurantbackend.model.Product;
+import com.restaurant.restaurantbackend.repository.OrderRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Aktif (teslim edilmemiş / iptal edilmemiş) siparişlerin bellekteki projeksiyonu.
+ * Açılışta veritabanından bir kez kurulur, sonra OrderChangedEvent / OrderStatusChangedEvent ile güncel tutulur.
+ * Mutfak panosu okumaları veritabanına gitmez ve maliyeti geçmiş sipariş sayısından değil,
+ * sadece aktif sipariş sayısından etkilenir.
+ */
+@Service
+public class KitchenBoardService {
+
+    private static final Comparator<KitchenOrderDTO> BY_CREATED_AT =
+            Comparator.comparing(KitchenOrderDTO::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder()))
+                    .thenComparing(KitchenOrderDTO::getId);
+
+    private final OrderRepository orderRepository;
+    private final MenuCacheService menuCacheService;
+
+    // Sipariş ID -> aktif sipariş; durum ve masa indeksleri ID tutar
+    private final Map<Long, KitchenOrderDTO> ordersById = new HashMap<>();
+    private final Map<String, Set<Long>> orderIdsByStatus = new HashMap<>();
+    private final Map<Long, Set<Long>> orderIdsByTableId = new HashMap<>();
+
+    public KitchenBoardService(OrderRepository orderRepository, MenuCacheService menuCacheService) {
+        this.orderRepository = orderRepository;
+        this.menuCacheService = menuCacheService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        List<Order> active = orderRepository.findByStatusNotIn(OrderService.TERMINAL_STATUSES);
+        synchronized (this) {
+            ordersById.clear();
+            orderIdsByStatus.clear();
+            orderIdsByTableId.clear();
+            active.forEach(this::apply);
+        }
+        System.out.println("🍳 Mutfak panosu yüklendi: " + active.size() + " aktif sipariş");
+    }
+
+    // Sipariş transaction'ı commit edildikten sonra; transaction dışında kaydedilenler (write-behind) için de çalışır
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderChanged(OrderChangedEvent event) {
+        synchronized (this) {
+            apply(event.getOrder());
+        }
+    }
+
+    // Dinleyiciler commit sonrası her isteğin kendi thread'inde çalışır; aynı siparişin iki değişikliği
+    // panoya commit sırasından farklı sırada gelebilir. Panodakinden yeni olmayan değişiklik atlanır.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        synchronized (this) {
+            KitchenOrderDTO old = ordersById.get(event.getOrderId());
+            if (old == null || !isNewer(event.getUpdatedAt(), old.getUpdatedAt())) {
+                return;
+            }
+            remove(old.getId());
+            if (OrderService.TERMINAL_STATUSES.contains(event.getStatus())) {
+                return;
+            }
+            add(new KitchenOrderDTO(old.getId(), old.getOrderNumber(), event.getStatus(), old.getTableId(),
+                    old.getTableNumber(), old.getCustomerNotes(), old.getCreatedAt(), event.getUpdatedAt(), old.getItems()));
+        }
+    }
+
+    private static boolean isNewer(LocalDateTime changedAt, LocalDateTime currentUpdatedAt) {
+        return currentUpdatedAt == null || (changedAt != null && changedAt.isAfter(currentUpdatedAt));
+    }
+
+    /**
+     * Panonun tamamı veya status / tableId ile daraltılmış hali. Siparişler eskiden yeniye sıralıdır.
+     */
+    public KitchenBoardDTO getBoard(String status, Long tableId) {
+        return getBoard(status, tableId, null);
+    }
+
+    /**
+     * categoryId verilirse istasyon panosu: sadece o kategoriden kalemi olan siparişler, yalnızca
+     * o kategorinin kalemleriyle; durum sayıları da bu siparişlerden hesaplanır.
+     */
+    public synchronized KitchenBoardDTO getBoard(String status, Long tableId, Long categoryId) {
+        Collection<Long> ids;
+        if (status != null && tableId != null) {
+            ids = new ArrayList<>(orderIdsByStatus.getOrDefault(status, Set.of()));
+            ids.retainAll(orderIdsByTableId.getOrDefault(tableId, Set.of()));
+        } else if (status != null) {
+            ids = orderIdsByStatus.getOrDefault(status, Set.of());
+        } else if (tableId != null) {
+            ids = orderIdsByTableId.getOrDefault(tableId, Set.of());
+        } else {
+            ids = ordersById.keySet();
+        }
+
+        List<KitchenOrderDTO> orders = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            KitchenOrderDTO order = ordersById.get(id);
+            if (categoryId != null) {
+                order = forStation(order, categoryId);
+            }
+            if (order != null) {
+                orders.add(order);
+            }
+        }
+        orders.sort(BY_CREATED_AT);
+
+        Map<String, Integer> counts = new HashMap<>();
+        if (categoryId == null) {
+            orderIdsByStatus.forEach((s, set) -> counts.put(s, set.size()));
+        } else {
+            // Durum filtresinden bağımsız: istasyonun tüm aktif siparişleri
+            for (KitchenOrderDTO order : ordersById.values()) {
+                if (hasStationItems(order, categoryId)) {
+                    counts.merge(order.getStatus(), 1, Integer::sum);
+                }
+            }
+        }
+        return new KitchenBoardDTO(LocalDateTime.now(), counts, orders);
+    }
+
+    /**
+     * Aktif siparişlerin kalemlerinin düştüğü istasyonlar (kategori ID'leri). Panoda olmayan
+     * (kapanmış veya bilinmeyen) siparişler sonuçta yer almaz.
+     */
+    public synchronized Map<Long, Set<Long>> getStationIds(Collection<Long> orderIds) {
+        Map<Long, Set<Long>> result = new HashMap<>();
+        for (Long orderId : orderIds) {
+            KitchenOrderDTO order = ordersById.get(orderId);
+            if (order == null) {
+                continue;
+            }
+            Set<Long> stations = new LinkedHashSet<>();
+            for (KitchenOrderItemDTO item : order.getItems()) {
+                if (item.getCategoryId() != null) {
+                    stations.add(item.getCategoryId());
+                }
+            }
+            result.put(orderId, stations);
+        }
+        return result;
+    }
+
+    /**
+     * Siparişin sadece categoryId istasyonuna ait kalemleri; o istasyona kalem yoksa null.
+     */
+    static KitchenOrderDTO forStation(KitchenOrderDTO order, Long categoryId) {
+        List<KitchenOrderItemDTO> items = order.getItems().stream()
+                .filter(item -> categoryId.equals(item.getCategoryId()))
+                .collect(Collectors.toList());
+        if (items.isEmpty()) {
+            return null;
+        }
+        return new KitchenOrderDTO(order.getId(), order.getOrderNumber(), order.getStatus(), order.getTableId(),
+                order.getTableNumber(), order.getCustomerNotes(), order.getCreatedAt(), order.getUpdatedAt(), items);
+    }
+
+    private static boolean hasStationItems(KitchenOrderDTO order, Long categoryId) {
+        return order.getItems().stream().anyMatch(item -> categoryId.equals(item.getCategoryId()));
+    }
+
+    /**
+     * Bir masanın aktif siparişleri (eskiden yeniye)
+     */
+    public List<KitchenOrderDTO> getActiveOrdersByTableId(Long tableId) {
+        return getBoard(null, tableId).getOrders();
+    }
+
+    private void apply(Order order) {
+        if (order == null || order.getId() == null) {
+            return;
+        }
+        remove(order.getId());
+        if (order.getStatus() == null || OrderService.TERMINAL_STATUSES.contains(order.getStatus())) {
+            return;
+        }
+        add(toView(order));
+    }
+
+    private void add(KitchenOrderDTO view) {
+        ordersById.put(view.getId(), view);
+        orderIdsByStatus.computeIfAbsent(view.getStatus(), s -> new LinkedHashSet<>()).add(view.getId());
+        if (view.getTableId() != null) {
+            orderIdsByTableId.computeIfAbsent(view.getTableId(), t -> new LinkedHashSet<>()).add(view.getId());
+        }
+    }
+
+    private void remove(Long orderId) {
+        KitchenOrderDTO old = ordersById.remove(orderId);
+        if (old == null) {
+            return;
+        }
+        removeFromIndex(orderIdsByStatus, old.getStatus(), orderId);
+        if (old.getTableId() != null) {
+            removeFromIndex(orderIdsByTableId, old.getTableId(), orderId);
+        }
+    }
+
+    private static <K> void removeFromIndex(Map<K, Set<Long>> index, K key, Long orderId) {
+        Set<Long> ids = index.get(key);
+        if (ids != null) {
+            ids.remove(orderId);
+            if (ids.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    // Yeni sipariş bildirimi de aynı görünümü kullanır (OrderService istasyonlara böler)
+    KitchenOrderDTO toView(Order order) {
+        MenuSnapshot menu = menuCacheService.getSnapshot();
+        List<KitchenOrderItemDTO> items = new ArrayList<>();
+        if (order.getOrderItems() != null) {
+            for (OrderItem item : order.getOrderItems()) {
+                Long productId = item.getProduct() != null ? item.getProduct().getId() : null;
+                // İstekten gelen üründe sadece ID olabilir: ad ve kategori menü snapshot'ından
+                Product product = productId != null ? menu.getProduct(productId) : null;
+                String productName = product != null ? product.getName()
+                        : item.getProduct() != null ? item.getProduct().getName() : null;
+                Long categoryId = product != null && product.getCategory() != null ? product.getCategory().getId() : null;
+                items.add(new KitchenOrderItemDTO(productId, productName, categoryId, item.getQuantity(), item.getNotes()));
+            }
+        }
+        return new KitchenOrderDTO(
+                order.getId(),
+                order.getOrderNumber(),
+                order.getStatus(),
+                order.getRestaurantTable() != null ? order.getRestaurantTable().getId() : null,
+                order.getRestaurantTable() != null ? order.getRestaurantTable().getTableNumber() : null,
+                order.getCustomerNotes(),
+                order.getCreatedAt(),
+                order.getUpdatedAt(),
+                List.copyOf(items));
+    }
+}
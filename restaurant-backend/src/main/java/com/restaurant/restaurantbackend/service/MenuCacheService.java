@@ -0,0 +1,153 @@
+package com.restaurant.restaurantbackend.service;
+
+import com.restaurant.restaurantbackend.event.MenuSnapshotChangedEvent;
+import com.restaurant.restaurantbackend.model.Category;
+import com.restaurant.restaurantbackend.model.Product;
+import com.restaurant.restaurantbackend.repository.CategoryRepository;
+import com.restaurant.restaurantbackend.repository.ProductRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Menü (kategori + ürün) için bellekte tutulan, versiyonlu snapshot.
+ * GET /api/products ve GET /api/categories istekleri veritabanına gitmeden
+ * buradan cevaplanır. Ürün/kategori yazma işlemleri commit olduktan sonra
+ * snapshot bütünüyle yeniden oluşturulur ve tek seferde değiştirilir.
+ */
+@Service
+public class MenuCacheService {
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private long lastVersion = 0;
+    private volatile MenuSnapshot snapshot;
+
+    public MenuCacheService(ProductRepository productRepository,
+                            CategoryRepository categoryRepository,
+                            PlatformTransactionManager transactionManager,
+                            ApplicationEventPublisher eventPublisher) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.eventPublisher = eventPublisher;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // rebuild() afterCommit() içinden de çağrılır: commit edilmiş transaction'a (ve onun persistence
+        // context'ine) katılmasın, snapshot her zaman yeni ve salt okunur bir transaction'da okunsun
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Güncel menü snapshot'ını döndürür. İlk çağrıda (henüz oluşturulmadıysa) yükler.
+     */
+    public MenuSnapshot getSnapshot() {
+        MenuSnapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            return snapshot != null ? snapshot : rebuild();
+        }
+    }
+
+    /**
+     * Uygulama açıldığında (DataInitializer verileri ekledikten sonra) snapshot'ı hazırla
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+    }
+
+    /**
+     * Menü yazma işlemlerinden sonra çağrılır. Aktif bir transaction varsa
+     * commit sonrasına, yoksa hemen snapshot yenilenir.
+     */
+    public void refreshAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    rebuild();
+                }
+            });
+        } else {
+            rebuild();
+        }
+    }
+
+    /**
+     * Menüyü veritabanından okuyup yeni bir snapshot oluşturur (toplam 2 sorgu:
+     * kategoriler + kategori ve alerjenleriyle birlikte ürünler).
+     * synchronized: eşzamanlı yazmalarda en son commit edilen durum en son yayınlanır.
+     */
+    public synchronized MenuSnapshot rebuild() {
+        MenuSnapshot fresh = readOnlyTransaction.execute(status -> {
+            Map<Long, Category> categoriesById = new HashMap<>();
+            List<Category> categories = new ArrayList<>();
+            categoryRepository.findAll().forEach(c -> {
+                Category copy = copyOf(c);
+                categoriesById.put(copy.getId(), copy);
+                categories.add(copy);
+            });
+            categories.sort(Comparator.comparing(Category::getId));
+
+            List<Product> products = new ArrayList<>();
+            productRepository.findAllForMenu().forEach(p -> products.add(copyOf(p, categoriesById)));
+            products.sort(Comparator.comparing(Product::getId));
+
+            return new MenuSnapshot(++lastVersion, Instant.now(), categories, products);
+        });
+        MenuSnapshot previous = snapshot;
+        snapshot = fresh;
+        // Türetilmiş yapılar (arama indeksi vb.) kilit altında, versiyon sırasıyla güncellenir
+        eventPublisher.publishEvent(new MenuSnapshotChangedEvent(previous, fresh));
+        return fresh;
+    }
+
+    // Entity'lerin Hibernate oturumundan bağımsız kopyaları (lazy koleksiyonlar da burada okunur)
+    private static Category copyOf(Category source) {
+        Category copy = new Category();
+        copy.setId(source.getId());
+        copy.setName(source.getName());
+        copy.setDescription(source.getDescription());
+        copy.setDisplayOrder(source.getDisplayOrder());
+        copy.setActive(source.isActive());
+        return copy;
+    }
+
+    private static Product copyOf(Product source, Map<Long, Category> categoriesById) {
+        Product copy = new Product();
+        copy.setId(source.getId());
+        if (source.getCategory() != null) {
+            // Aynı kategori nesnesini snapshot içindeki tüm ürünler paylaşır
+            copy.setCategory(categoriesById.computeIfAbsent(source.getCategory().getId(), id -> copyOf(source.getCategory())));
+        }
+        copy.setName(source.getName());
+        copy.setDescription(source.getDescription());
+        copy.setPrice(source.getPrice());
+        copy.setImageUrl(source.getImageUrl());
+        copy.setAvailable(source.isAvailable());
+        copy.setIsVegan(source.getIsVegan());
+        copy.setIsVegetarian(source.getIsVegetarian());
+        copy.setPreparationTime(source.getPreparationTime());
+        copy.setCalories(source.getCalories());
+        copy.setAllergens(source.getAllergens() != null ? List.copyOf(source.getAllergens()) : List.of());
+        return copy;
+    }
+}
@@ -0,0 +1,154 @@
+package com.restaurant.restaurantbackend.service;
+
+import com.restaurant.restaurantbackend.dto.MenuChangeDTO;
+import com.restaurant.restaurantbackend.dto.MenuChangesDTO;
+import com.restaurant.restaurantbackend.dto.MenuDeltaDTO;
+import com.restaurant.restaurantbackend.event.MenuSnapshotChangedEvent;
+import com.restaurant.restaurantbackend.model.Category;
+import com.restaurant.restaurantbackend.model.Product;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Menü değişikliklerini versiyonlu delta'lar halinde yayınlar ve sınırlı bir geçmişte tutar.
+ * Açık müşteri menüleri "/topic/menu" topic'ine abone olup kendi kopyalarını güncel tutar;
+ * bağlantısı kopan istemci GET /api/menu/changes?since=... ile aradaki delta'ları alır.
+ */
+@Service
+public class MenuChangeLog {
+
+    private static final String MENU_TOPIC = "/topic/menu";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final int capacity;
+    private final Deque<MenuDeltaDTO> deltas = new ArrayDeque<>();
+    private long currentVersion;
+
+    public MenuChangeLog(SimpMessagingTemplate messagingTemplate,
+                         @Value("${app.menu.change-log.capacity:200}") int capacity) {
+        this.messagingTemplate = messagingTemplate;
+        this.capacity = capacity;
+    }
+
+    @EventListener
+    public void onMenuChanged(MenuSnapshotChangedEvent event) {
+        MenuSnapshot current = event.getCurrent();
+        MenuSnapshot previous = event.getPrevious();
+        if (previous == null) {
+            // İlk yükleme: istemcilerin elinde karşılaştırılacak bir kopya yok
+            synchronized (this) {
+                currentVersion = current.getVersion();
+            }
+            return;
+        }
+
+        MenuDeltaDTO delta = new MenuDeltaDTO(ContentVersion.getBootId(), previous.getVersion(),
+                current.getVersion(), LocalDateTime.now(), diff(previous, current));
+        synchronized (this) {
+            deltas.addLast(delta);
+            while (deltas.size() > capacity) {
+                deltas.removeFirst();
+            }
+            currentVersion = current.getVersion();
+        }
+
+        if (!delta.getChanges().isEmpty()) {
+            messagingTemplate.convertAndSend(MENU_TOPIC, delta);
+        }
+    }
+
+    /**
+     * Delta içermeyen yanıt: istemcinin takip etmeye başlayacağı epoch ve versiyon.
+     */
+    public synchronized MenuChangesDTO getCurrentVersion() {
+        return new MenuChangesDTO(ContentVersion.getBootId(), currentVersion, false, List.of());
+    }
+
+    /**
+     * since versiyonundan sonraki tüm delta'lar. Kayıt yetersizse veya epoch farklıysa resetRequired döner.
+     */
+    public synchronized MenuChangesDTO getChangesSince(long since, String epoch) {
+        String bootId = ContentVersion.getBootId();
+        boolean otherEpoch = epoch != null && !epoch.equals(bootId);
+        if (otherEpoch || since > currentVersion) {
+            return new MenuChangesDTO(bootId, currentVersion, true, List.of());
+        }
+        if (since == currentVersion) {
+            return new MenuChangesDTO(bootId, currentVersion, false, List.of());
+        }
+        MenuDeltaDTO oldest = deltas.peekFirst();
+        if (oldest == null || oldest.getPreviousVersion() > since) {
+            return new MenuChangesDTO(bootId, currentVersion, true, List.of());
+        }
+        List<MenuDeltaDTO> result = new ArrayList<>();
+        for (MenuDeltaDTO delta : deltas) {
+            if (delta.getVersion() > since) {
+                result.add(delta);
+            }
+        }
+        return new MenuChangesDTO(bootId, currentVersion, false, result);
+    }
+
+    private static List<MenuChangeDTO> diff(MenuSnapshot previous, MenuSnapshot current) {
+        List<MenuChangeDTO> changes = new ArrayList<>();
+
+        for (Category category : current.getCategories()) {
+            Category old = previous.getCategory(category.getId());
+            if (old == null || !sameCategory(old, category)) {
+                changes.add(new MenuChangeDTO("UPSERT", "CATEGORY", category.getId(), null, category));
+            }
+        }
+        for (Category old : previous.getCategories()) {
+            if (current.getCategory(old.getId()) == null) {
+                changes.add(new MenuChangeDTO("DELETE", "CATEGORY", old.getId(), null, null));
+            }
+        }
+
+        for (Product product : current.getProducts()) {
+            Product old = previous.getProduct(product.getId());
+            if (old == null || !sameProduct(old, product)) {
+                changes.add(new MenuChangeDTO("UPSERT", "PRODUCT", product.getId(), product, null));
+            }
+        }
+        for (Product old : previous.getProducts()) {
+            if (current.getProduct(old.getId()) == null) {
+                changes.add(new MenuChangeDTO("DELETE", "PRODUCT", old.getId(), null, null));
+            }
+        }
+        return changes;
+    }
+
+    private static boolean sameCategory(Category a, Category b) {
+        return Objects.equals(a.getName(), b.getName())
+                && Objects.equals(a.getDescription(), b.getDescription())
+                && Objects.equals(a.getDisplayOrder(), b.getDisplayOrder())
+                && a.isActive() == b.isActive();
+    }
+
+    // Ürün JSON'u kategoriyi de içerdiği için kategori değişikliği o kategorideki ürünleri de değiştirir
+    private static boolean sameProduct(Product a, Product b) {
+        boolean sameCategory = a.getCategory() == null || b.getCategory() == null
+                ? a.getCategory() == b.getCategory()
+                : Objects.equals(a.getCategory().getId(), b.getCategory().getId()) && sameCategory(a.getCategory(), b.getCategory());
+        return sameCategory
+                && Objects.equals(a.getName(), b.getName())
+                && Objects.equals(a.getDescription(), b.getDescription())
+                && Objects.equals(a.getPrice(), b.getPrice())
+                && Objects.equals(a.getImageUrl(), b.getImageUrl())
+                && a.isAvailable() == b.isAvailable()
+                && Objects.equals(a.getIsVegan(), b.getIsVegan())
+                && Objects.equals(a.getIsVegetarian(), b.getIsVegetarian())
+                && Objects.equals(a.getPreparationTime(), b.getPreparationTime())
+                && Objects.equals(a.getCalories(), b.getCalories())
+                && Objects.equals(a.getAllergens(), b.getAllergens());
+    }
+}
@@ -0,0 +1,56 @@
+package com.restaurant.restaurantbackend.service;
+
+import com.restaurant.restaurantbackend.model.Allergen;
+
+import java.util.Collection;
+
+/**
+ * Menü filtresi: içermemesi gereken alerjenler ve zorunlu diyet bayrakları.
+ * Bir ürün, (traits &amp; exclude) == 0 ve (traits &amp; require) == require ise filtreden geçer.
+ */
+public final class MenuFilter {
+
+    public static final MenuFilter NONE = new MenuFilter(0L, 0L);
+
+    private final long excludeMask;
+    private final long requireMask;
+
+    private MenuFilter(long excludeMask, long requireMask) {
+        this.excludeMask = excludeMask;
+        this.requireMask = requireMask;
+    }
+
+    public static MenuFilter of(long excludeMask, long requireMask) {
+        return excludeMask == 0L && requireMask == 0L ? NONE : new MenuFilter(excludeMask, requireMask);
+    }
+
+    /**
+     * API parametrelerinden filtre oluşturur. Tanınmayan alerjen adı için IllegalArgumentException fırlatır.
+     */
+    public static MenuFilter of(Collection<String> excludeAllergens, boolean vegan, boolean vegetarian) {
+        long exclude = 0L;
+        if (excludeAllergens != null) {
+            for (String name : excludeAllergens) {
+                if (name == null || name.isBlank()) {
+                    continue;
+                }
+                Allergen allergen = Allergen.resolve(name)
+                        .orElseThrow(() -> new IllegalArgumentException("Bilinmeyen alerjen: " + name));
+                exclude |= allergen.bit();
+            }
+        }
+        long require = (vegan ? ProductTraits.VEGAN : 0L) | (vegetarian ? ProductTraits.VEGETARIAN : 0L);
+        return of(exclude, require);
+    }
+
+    public boolean matches(long traits) {
+        return (traits & excludeMask) == 0L && (traits & requireMask) == requireMask;
+    }
+
+    public boolean isEmpty() {
+        return excludeMask == 0L && requireMask == 0L;
+    }
+
+    public long getExcludeMask() { return excludeMask; }
+    public long getRequireMask() { return requireMask; }
+}
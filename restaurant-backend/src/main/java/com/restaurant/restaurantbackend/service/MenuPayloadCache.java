@@ -0,0 +1,171 @@
+package com.restaurant.restaurantbackend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restaurant.restaurantbackend.model.Category;
+import com.restaurant.restaurantbackend.model.Product;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Menü JSON'unu her menü versiyonu için bir kez serialize edip
+ * hem düz hem gzip'li byte dizisi olarak saklar.
+ * GET /api/products istekleri bu byte'ları doğrudan yanıta yazar; Jackson
+ * her istekte Product/Category nesnelerini tekrar dolaşmaz.
+ */
+@Service
+public class MenuPayloadCache {
+
+    // Versiyon başına saklanacak en fazla filtreli liste sayısı
+    private static final int MAX_FILTERED_PAYLOADS = 256;
+
+    private final ObjectMapper objectMapper;
+    private volatile MenuPayloads payloads;
+
+    public MenuPayloadCache(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Snapshot'taki tüm ürünlerin (categoryId null ise) veya bir kategorinin ürünlerinin hazır JSON'u
+     */
+    public EncodedPayload getProductsPayload(MenuSnapshot snapshot, Long categoryId) {
+        MenuPayloads current = payloadsFor(snapshot);
+        if (categoryId == null) {
+            return current.allProducts;
+        }
+        return current.productsByCategoryId.getOrDefault(categoryId, current.emptyList);
+    }
+
+    /**
+     * Alerjen/diyet filtresi uygulanmış ürün listesinin hazır JSON'u.
+     * Filtre kombinasyonları sınırlı sayıda olduğu için sonuçlar da versiyon başına saklanır.
+     */
+    public EncodedPayload getProductsPayload(MenuSnapshot snapshot, Long categoryId, MenuFilter filter) {
+        if (filter.isEmpty()) {
+            return getProductsPayload(snapshot, categoryId);
+        }
+        MenuPayloads current = payloadsFor(snapshot);
+        FilterKey key = new FilterKey(categoryId, filter.getExcludeMask(), filter.getRequireMask());
+        EncodedPayload cached = current.filtered.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        EncodedPayload encoded = encode(snapshot.filterProducts(categoryId, filter));
+        if (current.version == snapshot.getVersion() && current.filtered.size() < MAX_FILTERED_PAYLOADS) {
+            current.filtered.putIfAbsent(key, encoded);
+        }
+        return encoded;
+    }
+
+    private MenuPayloads payloadsFor(MenuSnapshot snapshot) {
+        MenuPayloads current = payloads;
+        if (current != null && current.version == snapshot.getVersion()) {
+            return current;
+        }
+        synchronized (this) {
+            current = payloads;
+            // Daha yeni bir versiyon zaten hazırlandıysa eski snapshot için cache'i ezme
+            if (current != null && current.version >= snapshot.getVersion()) {
+                return current.version == snapshot.getVersion() ? current : build(snapshot);
+            }
+            current = build(snapshot);
+            payloads = current;
+            return current;
+        }
+    }
+
+    private MenuPayloads build(MenuSnapshot snapshot) {
+        Map<Long, EncodedPayload> byCategory = new HashMap<>();
+        for (Category category : snapshot.getCategories()) {
+            byCategory.put(category.getId(), encode(snapshot.getProductsByCategoryId(category.getId())));
+        }
+        return new MenuPayloads(snapshot.getVersion(), encode(snapshot.getProducts()), Map.copyOf(byCategory), encode(List.of()));
+    }
+
+    private EncodedPayload encode(List<Product> products) {
+        try {
+            byte[] identity = objectMapper.writeValueAsBytes(products);
+            return new EncodedPayload(identity, gzip(identity));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Menü JSON'a çevrilemedi", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static final class MenuPayloads {
+        private final long version;
+        private final EncodedPayload allProducts;
+        private final Map<Long, EncodedPayload> productsByCategoryId;
+        private final EncodedPayload emptyList;
+        private final Map<FilterKey, EncodedPayload> filtered = new ConcurrentHashMap<>();
+
+        private MenuPayloads(long version, EncodedPayload allProducts,
+                             Map<Long, EncodedPayload> productsByCategoryId, EncodedPayload emptyList) {
+            this.version = version;
+            this.allProducts = allProducts;
+            this.productsByCategoryId = productsByCategoryId;
+            this.emptyList = emptyList;
+        }
+    }
+
+    private static final class FilterKey {
+        private final Long categoryId;
+        private final long excludeMask;
+        private final long requireMask;
+
+        private FilterKey(Long categoryId, long excludeMask, long requireMask) {
+            this.categoryId = categoryId;
+            this.excludeMask = excludeMask;
+            this.requireMask = requireMask;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof FilterKey)) return false;
+            FilterKey other = (FilterKey) o;
+            return excludeMask == other.excludeMask && requireMask == other.requireMask
+                    && Objects.equals(categoryId, other.categoryId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(categoryId, excludeMask, requireMask);
+        }
+    }
+
+    /**
+     * Hazır JSON gövdesi. Byte dizileri paylaşılır, değiştirilmemelidir.
+     */
+    public static final class EncodedPayload {
+        private final byte[] identity;
+        private final byte[] gzip;
+
+        private EncodedPayload(byte[] identity, byte[] gzip) {
+            this.identity = identity;
+            this.gzip = gzip;
+        }
+
+        public byte[] getIdentity() { return identity; }
+        public byte[] getGzip() { return gzip; }
+    }
+}
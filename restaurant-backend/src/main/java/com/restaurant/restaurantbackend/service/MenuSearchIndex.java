@@ -0,0 +1,188 @@
+package com.restaurant.restaurantbackend.service;
+
+import com.restaurant.restaurantbackend.event.MenuSnapshotChangedEvent;
+import com.restaurant.restaurantbackend.model.Product;
+import com.restaurant.restaurantbackend.util.TurkishText;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Ürün adı, açıklaması, kategori adı ve alerjenleri üzerinde bellekte tutulan ters indeks (inverted index).
+ * Terimler Türkçe kurallarıyla normalize edilir (bkz. {@link TurkishText}) ve sıralı bir
+ * TreeMap'te tutulur; böylece önek (prefix) araması tek bir aralık taramasıdır.
+ * Menü değiştiğinde sadece içeriği değişen ürünler yeniden indekslenir.
+ */
+@Service
+public class MenuSearchIndex {
+
+    // Alan ağırlıkları: ürün adında geçen kelime, açıklamada geçenden daha önemlidir
+    private static final float NAME_WEIGHT = 4f;
+    private static final float CATEGORY_WEIGHT = 2f;
+    private static final float ALLERGEN_WEIGHT = 1.5f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+    // Tam kelime eşleşmesi önek eşleşmesinden daha yüksek puan alır
+    private static final float PREFIX_FACTOR = 0.6f;
+    // Bu uzunluktan kısa sorgu kelimeleri sadece tam eşleşir (tek harf tüm menüyü taramasın)
+    private static final int MIN_PREFIX_LENGTH = 2;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // terim -> (ürün ID -> ağırlık)
+    private final TreeMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    // ürün ID -> indekslenen içerik (değişiklik tespiti ve silme için)
+    private final Map<Long, IndexedProduct> documents = new HashMap<>();
+
+    @EventListener
+    public void onMenuChanged(MenuSnapshotChangedEvent event) {
+        List<Product> products = event.getCurrent().getProducts();
+        lock.writeLock().lock();
+        try {
+            Set<Long> currentIds = new HashSet<>();
+            for (Product product : products) {
+                currentIds.add(product.getId());
+                IndexedProduct indexed = IndexedProduct.of(product);
+                IndexedProduct existing = documents.get(product.getId());
+                if (existing == null || !existing.signature.equals(indexed.signature)) {
+                    if (existing != null) {
+                        removePostings(product.getId(), existing);
+                    }
+                    addPostings(product.getId(), indexed);
+                    documents.put(product.getId(), indexed);
+                }
+            }
+            // Menüden silinen ürünler
+            List<Long> removed = new ArrayList<>();
+            documents.keySet().stream().filter(id -> !currentIds.contains(id)).forEach(removed::add);
+            for (Long id : removed) {
+                removePostings(id, documents.remove(id));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Sorgudaki tüm kelimeleri (tam veya önek olarak) içeren ürünlerin ID'lerini puana göre sıralı döndürür
+     */
+    public List<Long> search(String query, int limit) {
+        List<String> terms = TurkishText.tokenize(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        Map<Long, Float> scores;
+        try {
+            scores = null;
+            for (String term : terms) {
+                Map<Long, Float> termScores = scoreTerm(term);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    // Her kelime eşleşmeli (AND): kesişim al, puanları topla
+                    Map<Long, Float> merged = new HashMap<>();
+                    for (Map.Entry<Long, Float> entry : scores.entrySet()) {
+                        Float other = termScores.get(entry.getKey());
+                        if (other != null) {
+                            merged.put(entry.getKey(), entry.getValue() + other);
+                        }
+                    }
+                    scores = merged;
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Map.Entry<Long, Float>> ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort(Map.Entry.<Long, Float>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        List<Long> ids = new ArrayList<>(Math.min(limit, ranked.size()));
+        for (int i = 0; i < ranked.size() && i < limit; i++) {
+            ids.add(ranked.get(i).getKey());
+        }
+        return ids;
+    }
+
+    // Tek bir sorgu kelimesi için ürün -> en iyi puan
+    private Map<Long, Float> scoreTerm(String term) {
+        Map<Long, Float> result = new HashMap<>();
+        Map<String, Map<Long, Float>> matches = term.length() >= MIN_PREFIX_LENGTH
+                ? postings.subMap(term, true, term + Character.MAX_VALUE, false)
+                : (postings.containsKey(term) ? Map.of(term, postings.get(term)) : Map.of());
+        for (Map.Entry<String, Map<Long, Float>> match : matches.entrySet()) {
+            float factor = match.getKey().equals(term) ? 1f : PREFIX_FACTOR;
+            for (Map.Entry<Long, Float> posting : match.getValue().entrySet()) {
+                result.merge(posting.getKey(), posting.getValue() * factor, Math::max);
+            }
+        }
+        return result;
+    }
+
+    private void addPostings(Long productId, IndexedProduct indexed) {
+        indexed.weights.forEach((term, weight) ->
+                postings.computeIfAbsent(term, t -> new HashMap<>()).put(productId, weight));
+    }
+
+    private void removePostings(Long productId, IndexedProduct indexed) {
+        for (String term : indexed.weights.keySet()) {
+            Map<Long, Float> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(productId);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    /**
+     * Bir ürünün indekslenen terimleri. Aynı terim birden fazla alanda geçiyorsa en yüksek ağırlık kullanılır.
+     */
+    private static final class IndexedProduct {
+        private final String signature;
+        private final Map<String, Float> weights;
+
+        private IndexedProduct(String signature, Map<String, Float> weights) {
+            this.signature = signature;
+            this.weights = weights;
+        }
+
+        static IndexedProduct of(Product product) {
+            String categoryName = product.getCategory() != null ? product.getCategory().getName() : null;
+            List<String> allergens = product.getAllergens() != null ? product.getAllergens() : List.of();
+
+            Map<String, Float> weights = new HashMap<>();
+            addField(weights, product.getName(), NAME_WEIGHT);
+            addField(weights, categoryName, CATEGORY_WEIGHT);
+            allergens.forEach(a -> addField(weights, a, ALLERGEN_WEIGHT));
+            addField(weights, product.getDescription(), DESCRIPTION_WEIGHT);
+
+            String signature = String.join("\u0000",
+                    Objects.toString(product.getName(), ""),
+                    Objects.toString(categoryName, ""),
+                    String.join("\u0001", allergens),
+                    Objects.toString(product.getDescription(), ""));
+            return new IndexedProduct(signature, Collections.unmodifiableMap(weights));
+        }
+
+        private static void addField(Map<String, Float> weights, String text, float weight) {
+            for (String token : TurkishText.tokenize(text)) {
+                weights.merge(token, weight, Math::max);
+            }
+        }
+    }
+}
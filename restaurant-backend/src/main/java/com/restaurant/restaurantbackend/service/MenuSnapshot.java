@@ -0,0 +1,98 @@
+package com.restaurant.restaurantbackend.service;
+
+import com.restaurant.restaurantbackend.model.Category;
+import com.restaurant.restaurantbackend.model.Product;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Menünün belirli bir andaki değişmez kopyası.
+ * Okuma tarafındaki tüm istekler aynı nesneyi paylaşır; bu yüzden içindeki
+ * Product/Category nesneleri salt okunur kabul edilmelidir.
+ */
+public final class MenuSnapshot {
+
+    private final long version;
+    private final Instant builtAt;
+    private final ContentVersion contentVersion;
+    private final List<Category> categories;
+    private final List<Product> products;
+    private final Map<Long, Category> categoriesById;
+    private final Map<Long, Product> productsById;
+    private final Map<Long, List<Product>> productsByCategoryId;
+    // products listesiyle aynı sırada, her ürünün alerjen/diyet bit maskesi (bkz. ProductTraits)
+    private final long[] productTraits;
+
+    public MenuSnapshot(long version, Instant builtAt, List<Category> categories, List<Product> products) {
+        this.version = version;
+        this.builtAt = builtAt;
+        this.contentVersion = ContentVersion.of("menu", version, builtAt);
+        this.categories = List.copyOf(categories);
+        this.products = List.copyOf(products);
+
+        Map<Long, Category> categoryIndex = new LinkedHashMap<>();
+        this.categories.forEach(c -> categoryIndex.put(c.getId(), c));
+        this.categoriesById = Collections.unmodifiableMap(categoryIndex);
+
+        Map<Long, Product> productIndex = new LinkedHashMap<>();
+        this.products.forEach(p -> productIndex.put(p.getId(), p));
+        this.productsById = Collections.unmodifiableMap(productIndex);
+
+        // Kategori filtresi için ürünleri önceden grupla (sıra korunur)
+        this.productsByCategoryId = this.products.stream()
+                .filter(p -> p.getCategory() != null && p.getCategory().getId() != null)
+                .collect(Collectors.collectingAndThen(
+                        Collectors.groupingBy(p -> p.getCategory().getId(), LinkedHashMap::new, Collectors.toUnmodifiableList()),
+                        Collections::unmodifiableMap));
+
+        this.productTraits = new long[this.products.size()];
+        for (int i = 0; i < productTraits.length; i++) {
+            productTraits[i] = ProductTraits.of(this.products.get(i));
+        }
+    }
+
+    public long getVersion() { return version; }
+    public Instant getBuiltAt() { return builtAt; }
+    public ContentVersion getContentVersion() { return contentVersion; }
+    public List<Category> getCategories() { return categories; }
+    public List<Product> getProducts() { return products; }
+
+    public Category getCategory(Long id) {
+        return categoriesById.get(id);
+    }
+
+    public Product getProduct(Long id) {
+        return productsById.get(id);
+    }
+
+    public List<Product> getProductsByCategoryId(Long categoryId) {
+        return productsByCategoryId.getOrDefault(categoryId, List.of());
+    }
+
+    /**
+     * Alerjen/diyet filtresini bit işlemleriyle uygular. categoryId null ise tüm menü.
+     */
+    public List<Product> filterProducts(Long categoryId, MenuFilter filter) {
+        if (filter.isEmpty()) {
+            return categoryId != null ? getProductsByCategoryId(categoryId) : products;
+        }
+        List<Product> result = new ArrayList<>();
+        for (int i = 0; i < productTraits.length; i++) {
+            if (!filter.matches(productTraits[i])) {
+                continue;
+            }
+            Product product = products.get(i);
+            if (categoryId == null
+                    || (product.getCategory() != null && categoryId.equals(product.getCategory().getId()))) {
+                result.add(product);
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+}
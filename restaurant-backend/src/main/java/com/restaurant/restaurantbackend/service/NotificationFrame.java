@@ -0,0 +1,31 @@
+package com.restaurant.restaurantbackend.service;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * JSON'a bir kez çevrilmiş bildirim gövdesi.
+ * Aynı olay birden fazla hedefe (mutfak, masa topic'i) gidecekse Jackson dönüşümü bir kez yapılır ve
+ * her hedefe gönderilen Message aynı byte dizisini gövde olarak taşır. Broker'dan sonra STOMP çerçevesi
+ * (StompEncoder) ve SockJS çerçevelemesi her oturum için ayrıca kodlanır; kazanç hedef başına
+ * serileştirme ve kopyadır, oturum başına kodlama değil (bkz. NotificationFanOutBenchmark).
+ * Byte dizisi paylaşıldığı için hiçbir yerde değiştirilmemelidir.
+ */
+public final class NotificationFrame {
+
+    private final String json;
+    private final byte[] bytes;
+
+    private NotificationFrame(String json) {
+        this.json = json;
+        this.bytes = json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static NotificationFrame of(String json) {
+        return new NotificationFrame(json);
+    }
+
+    public String getJson() { return json; }
+
+    // Mesaj gövdesi olarak doğrudan kullanılır, kopyalanmaz
+    byte[] getBytes() { return bytes; }
+}
@@ -0,0 +1,381 @@
+package com.restaurant.restaurantbackend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restaurant.restaurantbackend.model.OutboxNotification;
+import com.restaurant.restaurantbackend.repository.OutboxNotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.MimeTypeUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * WebSocket bildirimleri için transactional outbox.
+ * enqueue() bildirimi çağıranın transaction'ında notification_outbox tablosuna yazar; geri alınan işlemin
+ * bildirimi hiç görünmez. Commit sonrası ayrı bir aktarıcı thread uyandırılır ve bekleyen bildirimleri
+ * gruplar halinde, yazılma sırasıyla broker'a gönderir. Gönderilemeyen bildirim artan aralıklarla yeniden denenir.
+ * İstek thread'i sadece bir INSERT öder, yayın maliyeti HTTP yanıt süresine eklenmez.
+ * Birleştirme anahtarı olan bildirimler kısa bir pencere (app.notifications.coalesce-window-ms) sonra
+ * gönderilmeye hazır olur; bu sürede aynı hedefe aynı anahtarla yazılmış daha yeni bildirim varsa sadece o
+ * gönderilir. Anahtarsız bildirimler (örn. yeni sipariş) birleştirilemez, beklemeden gönderilir.
+ * Her mesaj topic'e özgü sıra numarasıyla (seq başlığı) gönderilir, bkz. NotificationReplayLog.
+ */
+@Service
+public class NotificationOutboxService {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final OutboxNotificationRepository outboxRepository;
+    private final NotificationReplayLog replayLog;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long pollIntervalMillis;
+    private final int maxAttempts;
+    private final Duration retention;
+    private final long coalesceWindowMillis;
+
+    // Commit sonrası aktarıcıyı beklemeden uyandırmak için
+    private final Semaphore wakeUp = new Semaphore(0);
+    // Birleştirme penceresi dolacak bildirimlerin hazır olma zamanları (epoch ms): aktarıcı o ana kadar bekler
+    private final ConcurrentSkipListSet<Long> scheduledWakeUps = new ConcurrentSkipListSet<>();
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final AtomicLong pendingCount = new AtomicLong();
+    private final Counter sentCounter;
+    private final Counter retryCounter;
+    private final Counter failedCounter;
+    private final Counter coalescedCounter;
+
+    private volatile boolean running;
+    private Thread dispatcher;
+
+    public NotificationOutboxService(OutboxNotificationRepository outboxRepository,
+                                     NotificationReplayLog replayLog,
+                                     SimpMessagingTemplate messagingTemplate,
+                                     ObjectMapper objectMapper,
+                                     PlatformTransactionManager transactionManager,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${app.notifications.outbox.batch-size:100}") int batchSize,
+                                     @Value("${app.notifications.outbox.poll-interval-ms:1000}") long pollIntervalMillis,
+                                     @Value("${app.notifications.outbox.max-attempts:5}") int maxAttempts,
+                                     @Value("${app.notifications.outbox.retention-hours:24}") long retentionHours,
+                                     @Value("${app.notifications.coalesce-window-ms:100}") long coalesceWindowMillis) {
+        this.outboxRepository = outboxRepository;
+        this.replayLog = replayLog;
+        this.messagingTemplate = messagingTemplate;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.maxAttempts = maxAttempts;
+        this.retention = Duration.ofHours(retentionHours);
+        this.coalesceWindowMillis = coalesceWindowMillis;
+
+        Gauge.builder("notifications.outbox.lag", lagMillis, value -> value.get() / 1000.0)
+                .description("En eski bekleyen bildirimin yaşı")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("notifications.outbox.pending", pendingCount, AtomicLong::get)
+                .description("Gönderilmeyi bekleyen bildirim sayısı")
+                .register(meterRegistry);
+        this.sentCounter = Counter.builder("notifications.outbox.sent").register(meterRegistry);
+        this.retryCounter = Counter.builder("notifications.outbox.retried").register(meterRegistry);
+        this.failedCounter = Counter.builder("notifications.outbox.failed").register(meterRegistry);
+        this.coalescedCounter = Counter.builder("notifications.coalesced")
+                .description("Daha yeni bir durumla birleştirildiği için gönderilmeyen bildirimler")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        dispatcher = new Thread(this::runDispatcher, "notification-outbox-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        wakeUp.release();
+        if (dispatcher != null) {
+            dispatcher.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    /**
+     * payload'ı JSON olarak destination için outbox'a yazar. Aktif transaction varsa ona katılır ve
+     * bildirim sadece o transaction commit edilirse gönderilir.
+     */
+    @Transactional
+    public void enqueue(String destination, Object payload) {
+        enqueue(destination, payload, null);
+    }
+
+    /**
+     * coalesceKey verilirse bildirim birleştirme penceresi kadar sonra gönderilir; bu sürede aynı hedef ve
+     * anahtarla yazılan daha yeni bir bildirim bunun yerine gider (örn. hızlı art arda durum değişikliklerinde
+     * sadece son durum).
+     */
+    @Transactional
+    public void enqueue(String destination, Object payload, String coalesceKey) {
+        enqueue(List.of(destination), encode(payload), coalesceKey);
+    }
+
+    /**
+     * Aynı, önceden kodlanmış gövdeyi birden fazla hedefe yazar; payload her hedef için yeniden
+     * serileştirilmez, aktarımda da aynı grupta tek byte dizisi paylaşılır.
+     */
+    @Transactional
+    public void enqueue(Collection<String> destinations, NotificationFrame frame, String coalesceKey) {
+        LocalDateTime now = LocalDateTime.now();
+        // Sadece birleştirilebilecek bildirimler pencere kadar bekletilir
+        LocalDateTime readyAt = coalesceKey != null && coalesceWindowMillis > 0
+                ? now.plus(Duration.ofMillis(coalesceWindowMillis)) : now;
+        List<OutboxNotification> notifications = new ArrayList<>(destinations.size());
+        for (String destination : destinations) {
+            OutboxNotification notification = new OutboxNotification(destination, coalesceKey, frame.getJson(), now);
+            notification.setNextAttemptAt(readyAt);
+            notifications.add(notification);
+        }
+        outboxRepository.saveAll(notifications);
+        Runnable wake = readyAt.equals(now) ? wakeUp::release : () -> scheduleWakeUp(readyAt);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    wake.run();
+                }
+            });
+        } else {
+            wake.run();
+        }
+    }
+
+    // Aktarıcı şu an daha uzun bir bekleme içindeyse uyandırılır ve bekleme süresini yeniden hesaplar
+    private void scheduleWakeUp(LocalDateTime readyAt) {
+        long readyAtMillis = readyAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        Long earliest = scheduledWakeUps.ceiling(Long.MIN_VALUE);
+        scheduledWakeUps.add(readyAtMillis);
+        if (earliest == null || readyAtMillis < earliest) {
+            wakeUp.release();
+        }
+    }
+
+    /**
+     * payload'ı bir kez JSON'a çevirir; dönen çerçeve birden fazla enqueue çağrısında kullanılabilir.
+     */
+    public NotificationFrame encode(Object payload) {
+        return NotificationFrame.of(toJson(payload));
+    }
+
+    // Gönderilmiş ve vazgeçilmiş kayıtların temizlenmesi (varsayılan: saatte bir)
+    @Scheduled(fixedDelayString = "${app.notifications.outbox.purge-interval-ms:3600000}")
+    public void purgeFinished() {
+        int deleted = outboxRepository.deleteFinishedBefore(LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            System.out.println("🧹 Outbox'tan " + deleted + " eski bildirim silindi");
+        }
+    }
+
+    private void runDispatcher() {
+        while (running) {
+            try {
+                // Yeni bildirim commit edilene, en yakın birleştirme penceresi dolana veya yoklama aralığına kadar bekle
+                long waitMillis = millisUntilNextWakeUp();
+                if (waitMillis > 0) {
+                    wakeUp.tryAcquire(waitMillis, TimeUnit.MILLISECONDS);
+                }
+                wakeUp.drainPermits();
+                scheduledWakeUps.headSet(System.currentTimeMillis(), true).clear();
+                // Grup dolu döndükçe beklemeden devam et
+                int dispatched;
+                do {
+                    dispatched = dispatchBatch();
+                } while (running && dispatched == batchSize);
+                updateLag();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } catch (Exception e) {
+                System.err.println("❌ Bildirim aktarıcı hatası: " + e.getMessage());
+            }
+        }
+    }
+
+    private long millisUntilNextWakeUp() {
+        // ceiling: küme boşsa null döner (isEmpty + first arasındaki yarışa girmez)
+        Long earliest = scheduledWakeUps.ceiling(Long.MIN_VALUE);
+        return earliest == null ? pollIntervalMillis
+                : Math.min(pollIntervalMillis, earliest - System.currentTimeMillis());
+    }
+
+    /**
+     * Bekleyen bildirimlerden bir grubu kilitler, SENT / COALESCED olarak işaretler ve commit eder;
+     * broker'a gönderim commit'ten sonra yapılır. Böylece commit başarısız olursa hiçbir çerçeve
+     * yayınlanmamış olur ve aynı kayıt yeni bir seq ile ikinci kez gönderilmez (istemci tekrarı ayıklayamazdı).
+     * Commit ile gönderim arasında süreç çökerse o çerçeveler kaybolur; ancak tekrar oynatma geçmişi de
+     * bellekte olduğundan yeni epoch ile bağlanan istemciler resetRequired alıp ekranı baştan yükler.
+     * Gönderimi başarısız olan kayıtlar ayrı bir transaction'da yeniden denenmek üzere PENDING'e döner.
+     * Dönen değer işlenen kayıt sayısıdır.
+     */
+    private int dispatchBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxNotification> toSend = new ArrayList<>();
+        int[] coalesced = {0};
+        Integer claimed = transactionTemplate.execute(status -> {
+            List<OutboxNotification> batch = outboxRepository.claimPending(now, batchSize);
+            Set<OutboxNotification> superseded = findSuperseded(batch);
+            superseded.addAll(findSupersededOutsideBatch(batch, superseded));
+            for (OutboxNotification notification : batch) {
+                notification.setDispatchedAt(now);
+                if (superseded.contains(notification)) {
+                    notification.setStatus(OutboxNotification.STATUS_COALESCED);
+                    coalesced[0]++;
+                } else {
+                    notification.setStatus(OutboxNotification.STATUS_SENT);
+                    notification.setLastError(null);
+                    toSend.add(notification);
+                }
+            }
+            return batch.size();
+        });
+        coalescedCounter.increment(coalesced[0]);
+
+        // Aynı olayın farklı hedeflere yazılmış kopyaları tek çerçeveyi paylaşır
+        Map<String, NotificationFrame> frames = new HashMap<>();
+        List<OutboxNotification> failed = new ArrayList<>();
+        for (OutboxNotification notification : toSend) {
+            try {
+                send(notification.getDestination(),
+                        frames.computeIfAbsent(notification.getPayload(), NotificationFrame::of));
+                sentCounter.increment();
+            } catch (Exception e) {
+                onSendFailure(notification, e, now);
+                failed.add(notification);
+            }
+        }
+        if (!failed.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> outboxRepository.saveAll(failed));
+        }
+        return claimed == null ? 0 : claimed;
+    }
+
+    // Grup içinde aynı hedef + anahtar için daha yeni kaydı olan bildirimler (grup id sırasıyla gelir)
+    private static Set<OutboxNotification> findSuperseded(List<OutboxNotification> batch) {
+        Map<String, OutboxNotification> latest = new HashMap<>();
+        Set<OutboxNotification> superseded = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (OutboxNotification notification : batch) {
+            if (notification.getCoalesceKey() == null) {
+                continue;
+            }
+            OutboxNotification previous = latest.put(
+                    notification.getDestination() + "|" + notification.getCoalesceKey(), notification);
+            if (previous != null) {
+                superseded.add(previous);
+            }
+        }
+        return superseded;
+    }
+
+    // Gruptaki en yeni kayıt da daha önce (başka bir grupta) gönderilmiş veya sırada bekleyen bir kayıttan eski olabilir:
+    // örn. geri çekilmeden dönen yeniden deneme. Bu durumda eski durum yeniyi ezmesin diye gönderilmez.
+    private List<OutboxNotification> findSupersededOutsideBatch(List<OutboxNotification> batch,
+                                                                Set<OutboxNotification> superseded) {
+        Map<Long, OutboxNotification> candidates = new HashMap<>();
+        for (OutboxNotification notification : batch) {
+            if (notification.getCoalesceKey() != null && !superseded.contains(notification)) {
+                candidates.put(notification.getId(), notification);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<OutboxNotification> result = new ArrayList<>();
+        for (Long id : outboxRepository.findSupersededIds(candidates.keySet())) {
+            result.add(candidates.get(id));
+        }
+        return result;
+    }
+
+    private void onSendFailure(OutboxNotification notification, Exception e, LocalDateTime now) {
+        int attempts = notification.getAttempts() + 1;
+        notification.setAttempts(attempts);
+        String error = String.valueOf(e.getMessage());
+        notification.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        if (attempts >= maxAttempts) {
+            notification.setStatus(OutboxNotification.STATUS_FAILED);
+            failedCounter.increment();
+            System.err.println("❌ Bildirim " + attempts + " denemede gönderilemedi, vazgeçildi: "
+                    + notification.getDestination() + " - " + error);
+        } else {
+            // Üstel geri çekilme: 1, 2, 4, 8... saniye (en fazla 60)
+            long delaySeconds = Math.min(60, 1L << (attempts - 1));
+            notification.setStatus(OutboxNotification.STATUS_PENDING);
+            notification.setDispatchedAt(null);
+            notification.setNextAttemptAt(now.plusSeconds(delaySeconds));
+            retryCounter.increment();
+        }
+    }
+
+    // Gövde zaten JSON: mesaj dönüştürücüsünden geçmeden gönderilir.
+    // Mesaj gönderimden önce tekrar oynatma geçmişine yazılır; yeniden bağlanan istemci onu hem canlı hem
+    // tekrar oynatmadan alabilir, seq ile tekrarı ayıklar
+    private void send(String destination, NotificationFrame frame) {
+        long seq = replayLog.append(destination, frame.getJson());
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        accessor.setNativeHeader(NotificationReplayLog.SEQ_HEADER, Long.toString(seq));
+        accessor.setNativeHeader(NotificationReplayLog.EPOCH_HEADER, ContentVersion.getBootId());
+        accessor.setLeaveMutable(true);
+        // Broker her abone oturumun mesajına aynı byte dizisini koyar; STOMP çerçevesi oturum başına ayrıca kodlanır
+        Message<byte[]> message = MessageBuilder.createMessage(frame.getBytes(), accessor.getMessageHeaders());
+        messagingTemplate.send(destination, message);
+    }
+
+    private void updateLag() {
+        LocalDateTime oldest = outboxRepository.findOldestPendingCreatedAt().orElse(null);
+        lagMillis.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis()));
+        pendingCount.set(oldest == null ? 0 : outboxRepository.countPending());
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Bildirim JSON'a çevrilemedi", e);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.restaurant.restaurantbackend.service;
+
+import com.restaurant.restaurantbackend.dto.NotificationReplayDTO;
+import com.restaurant.restaurantbackend.dto.ReplayedNotificationDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Topic başına artan sıra numarası ve son bildirimlerin sınırlı geçmişi.
+ * Outbox aktarıcısı her mesajı göndermeden önce buraya yazar ve numarayı "seq" başlığıyla yayınlar.
+ * Bağlantısı kopan istemci GET /api/notifications/replay?topic=...&after=... ile aradaki mesajları alır;
+ * boşluk geçmişten büyükse (veya sunucu yeniden başladıysa) resetRequired döner.
+ */
+@Service
+public class NotificationReplayLog {
+
+    public static final String SEQ_HEADER = "seq";
+    public static final String EPOCH_HEADER = "seq-epoch";
+
+    private final int capacity;
+    private final Map<String, TopicLog> topics = new ConcurrentHashMap<>();
+
+    public NotificationReplayLog(@Value("${app.notifications.replay.capacity:200}") int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * payload'ı destination geçmişine ekler ve verilen sıra numarasını döner.
+     */
+    public long append(String destination, String payload) {
+        return topics.computeIfAbsent(destination, key -> new TopicLog()).append(payload, capacity);
+    }
+
+    /**
+     * after numarasından sonraki mesajlar. Kayıt yetersizse veya epoch farklıysa resetRequired döner.
+     */
+    public NotificationReplayDTO getSince(String topic, long after, String epoch) {
+        String bootId = ContentVersion.getBootId();
+        TopicLog log = topics.get(topic);
+        if (log == null) {
+            // Bu süreçte topic'e hiç mesaj gönderilmedi: istemci sıfırdan başlıyorsa kaçırdığı bir şey yok
+            boolean reset = after > 0 || (epoch != null && !epoch.equals(bootId));
+            return new NotificationReplayDTO(topic, bootId, 0, reset, List.of());
+        }
+        return log.getSince(topic, after, epoch, bootId);
+    }
+
+    private static final class TopicLog {
+        private final Deque<ReplayedNotificationDTO> entries = new ArrayDeque<>();
+        private long lastSeq;
+
+        private synchronized long append(String payload, int capacity) {
+            long seq = ++lastSeq;
+            entries.addLast(new ReplayedNotificationDTO(seq, payload));
+            while (entries.size() > capacity) {
+                entries.removeFirst();
+            }
+            return seq;
+        }
+
+        private synchronized NotificationReplayDTO getSince(String topic, long after, String epoch, String bootId) {
+            boolean otherEpoch = epoch != null && !epoch.equals(bootId);
+            if (otherEpoch || after > lastSeq) {
+                return new NotificationReplayDTO(topic, bootId, lastSeq, true, List.of());
+            }
+            if (after == lastSeq) {
+                return new NotificationReplayDTO(topic, bootId, lastSeq, false, List.of());
+            }
+            ReplayedNotificationDTO oldest = entries.peekFirst();
+            if (oldest == null || oldest.getSeq() > after + 1) {
+                return new NotificationReplayDTO(topic, bootId, lastSeq, true, List.of());
+            }
+            List<ReplayedNotificationDTO> result = new ArrayList<>();
+            for (ReplayedNotificationDTO entry : entries) {
+                if (entry.getSeq() > after) {
+                    result.add(entry);
+                }
+            }
+            return new NotificationReplayDTO(topic, bootId, lastSeq, false, result);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.restaurant.restaurantbackend.service;
+
+/**
+ * WebSocket bildirim topic'leri.
+ * /topic/kitchen tüm sipariş ve masa isteklerini alan toplu (yönetici) topic'tir; istasyon ekranları
+ * sadece kendi kategorilerinin topic'ine, salon ekranları /topic/floor'a abone olur.
+ */
+public final class NotificationTopics {
+
+    public static final String KITCHEN = "/topic/kitchen";
+    // Garson çağrıları ve masa istekleri
+    public static final String FLOOR = "/topic/floor";
+
+    private NotificationTopics() {
+    }
+
+    // İstasyon = ürün kategorisi (bar, ızgara, tatlı...)
+    public static String station(Long categoryId) {
+        return KITCHEN + "/station/" + categoryId;
+    }
+
+    public static String table(Long tableId) {
+        return "/topic/table/" + tableId;
+    }
+}
@@ -0,0 +1,105 @@
+package com.restaurant.restaurantbackend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Teslim edilmiş / iptal edilmiş ve belirli bir süreden eski siparişleri orders / order_items tablolarından
+ * orders_archive / order_items_archive tablolarına taşır. Böylece operasyonel sorgular (masa siparişleri,
+ * durum filtreleri, mutfak panosu açılışı) sadece sıcak veri üzerinde çalışır; raporlar arşivi ayrıca okur.
+ * Her grup tek bir SQL ifadesiyle taşınır (silme + ekleme aynı ifadede), yarım kalmış taşıma olmaz.
+ */
+@Service
+public class OrderArchiveService {
+
+    // Silinen satırlar aynı ifadede arşive yazılır. Masa numarası ve ürün adı taşıma anında kopyalanır.
+    // SKIP LOCKED: o an güncellenmekte olan sipariş bu turda atlanır, sonraki turda taşınır
+    private static final String MOVE_SQL =
+            "WITH moved AS ("
+            + "  SELECT id FROM orders"
+            + "  WHERE status IN (:statuses) AND COALESCE(updated_at, created_at) < :cutoff"
+            + "  ORDER BY id LIMIT :batchSize"
+            + "  FOR UPDATE SKIP LOCKED"
+            + "), deleted_items AS ("
+            + "  DELETE FROM order_items i USING moved m WHERE i.order_id = m.id"
+            + "  RETURNING i.id, i.order_id, i.product_id, i.quantity, i.unit_price, i.subtotal, i.notes"
+            + "), archived_items AS ("
+            + "  INSERT INTO order_items_archive (id, order_id, product_id, product_name, quantity, unit_price, subtotal, notes)"
+            + "  SELECT i.id, i.order_id, i.product_id, p.name, i.quantity, i.unit_price, i.subtotal, i.notes"
+            + "  FROM deleted_items i LEFT JOIN products p ON p.id = i.product_id"
+            + "), deleted_orders AS ("
+            + "  DELETE FROM orders o USING moved m WHERE o.id = m.id"
+            + "  RETURNING o.*"
+            + "), archived_orders AS ("
+            + "  INSERT INTO orders_archive (id, order_number, status, table_id, table_number, total_amount,"
+            + "    payment_method, payment_status, customer_notes, item_count, created_at, updated_at, archived_at)"
+            + "  SELECT o.id, o.order_number, o.status, o.table_id, t.table_number, o.total_amount,"
+            + "    o.payment_method, o.payment_status, o.customer_notes, COALESCE(c.item_count, 0),"
+            + "    o.created_at, o.updated_at, :now"
+            + "  FROM deleted_orders o"
+            + "  LEFT JOIN tables t ON t.id = o.table_id"
+            + "  LEFT JOIN (SELECT order_id, COUNT(*) AS item_count FROM deleted_items GROUP BY order_id) c"
+            + "    ON c.order_id = o.id"
+            + "  RETURNING id"
+            + ") "
+            + "SELECT COUNT(*) FROM archived_orders";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int afterDays;
+    private final int batchSize;
+
+    public OrderArchiveService(NamedParameterJdbcTemplate jdbcTemplate,
+                               @Value("${app.orders.archive.enabled:true}") boolean enabled,
+                               @Value("${app.orders.archive.after-days:30}") int afterDays,
+                               @Value("${app.orders.archive.batch-size:500}") int batchSize) {
+        if (afterDays < 1) {
+            throw new IllegalArgumentException("app.orders.archive.after-days en az 1 olmalı");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.afterDays = afterDays;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    // Varsayılan: saatte bir. Her çalışmada taşınacak sipariş kalmayana kadar grup grup devam eder.
+    @Scheduled(initialDelayString = "${app.orders.archive.initial-delay-ms:60000}",
+            fixedDelayString = "${app.orders.archive.interval-ms:3600000}")
+    public void archiveClosedOrders() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = now.minusDays(afterDays);
+        int total = 0;
+        try {
+            int moved;
+            do {
+                moved = moveBatch(cutoff, now);
+                total += moved;
+            } while (moved == batchSize);
+        } catch (Exception e) {
+            System.err.println("⚠️ Sipariş arşivleme başarısız (" + total + " sipariş taşındı): " + e.getMessage());
+            return;
+        }
+        if (total > 0) {
+            System.out.println("📦 " + total + " kapanmış sipariş arşive taşındı (" + afterDays + " günden eski)");
+        }
+    }
+
+    // Tek ifade: otomatik commit ile kendi başına atomik
+    private int moveBatch(LocalDateTime cutoff, LocalDateTime now) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("statuses", OrderService.TERMINAL_STATUSES)
+                .addValue("cutoff", cutoff)
+                .addValue("batchSize", batchSize)
+                .addValue("now", now);
+        Integer moved = jdbcTemplate.queryForObject(MOVE_SQL, params, Integer.class);
+        return moved == null ? 0 : moved;
+    }
+}
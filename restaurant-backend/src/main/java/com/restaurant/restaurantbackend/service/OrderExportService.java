@@ -0,0 +1,261 @@
+package com.restaurant.restaurantbackend.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * Gün sonu muhasebe dökümü: verilen tarih aralığındaki siparişler ve kalemleri (sıcak + arşiv tabloları).
+ * Satırlar sabit fetch size ile ileri yönlü bir JDBC cursor'dan okunup doğrudan yanıt akışına yazılır;
+ * bellek kullanımı tarih aralığından bağımsızdır.
+ */
+@Service
+public class OrderExportService {
+
+    public static final String FORMAT_CSV = "csv";
+    public static final String FORMAT_NDJSON = "ndjson";
+
+    // Kalem başına bir satır; siparişler (createdAt, id) sırasında, kalemleri ardışık gelir
+    private static final String EXPORT_SQL =
+            "SELECT o.id AS order_id, o.order_number, o.status, o.created_at, o.updated_at, t.table_number, "
+            + "       o.payment_method, o.payment_status, o.total_amount, o.customer_notes, "
+            + "       i.id AS item_id, i.product_id, p.name AS product_name, i.quantity, i.unit_price, i.subtotal, "
+            + "       i.notes AS item_notes "
+            + "FROM orders o "
+            + "LEFT JOIN tables t ON t.id = o.table_id "
+            + "LEFT JOIN order_items i ON i.order_id = o.id "
+            + "LEFT JOIN products p ON p.id = i.product_id "
+            + "WHERE o.created_at >= ? AND o.created_at < ? "
+            + "UNION ALL "
+            + "SELECT a.id, a.order_number, a.status, a.created_at, a.updated_at, a.table_number, "
+            + "       a.payment_method, a.payment_status, a.total_amount, a.customer_notes, "
+            + "       ai.id, ai.product_id, ai.product_name, ai.quantity, ai.unit_price, ai.subtotal, ai.notes "
+            + "FROM orders_archive a "
+            + "LEFT JOIN order_items_archive ai ON ai.order_id = a.id "
+            + "WHERE a.created_at >= ? AND a.created_at < ? "
+            + "ORDER BY created_at, order_id, item_id";
+
+    private static final String[] CSV_HEADER = {
+            "order_id", "order_number", "status", "created_at", "updated_at", "table_number",
+            "payment_method", "payment_status", "total_amount", "customer_notes",
+            "item_id", "product_id", "product_name", "quantity", "unit_price", "subtotal", "item_notes"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    public OrderExportService(DataSource dataSource,
+                              PlatformTransactionManager transactionManager,
+                              ObjectMapper objectMapper,
+                              @Value("${app.orders.export.fetch-size:500}") int fetchSize) {
+        // Ortak JdbcTemplate'i etkilememek için ayrı örnek: PostgreSQL sürücüsü fetch size'ı
+        // sadece autocommit kapalıyken (transaction içinde) cursor olarak uygular
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Desteklenen format adını döner; tanınmayan format için IllegalArgumentException fırlatır.
+     */
+    public static String parseFormat(String format) {
+        String value = format == null ? FORMAT_CSV : format.trim().toLowerCase(Locale.ROOT);
+        if (!FORMAT_CSV.equals(value) && !FORMAT_NDJSON.equals(value)) {
+            throw new IllegalArgumentException("Desteklenmeyen format: " + format + " (csv veya ndjson)");
+        }
+        return value;
+    }
+
+    /**
+     * [from, to) aralığındaki siparişleri out akışına yazar. csv: kalem başına bir satır,
+     * ndjson: sipariş başına bir JSON satırı (kalemler items dizisinde).
+     */
+    public void export(LocalDateTime from, LocalDateTime to, String format, OutputStream out) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        RowSink sink = FORMAT_NDJSON.equals(format) ? new NdjsonSink(writer) : new CsvSink(writer);
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(EXPORT_SQL, rs -> {
+            try {
+                sink.row(rs);
+            } catch (IOException e) {
+                // İstemci bağlantıyı kapattı: cursor'u bırak
+                throw new UncheckedIOException(e);
+            }
+        }, from, to, from, to));
+        try {
+            sink.finish();
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private interface RowSink {
+        void row(ResultSet rs) throws SQLException, IOException;
+
+        void finish() throws IOException;
+    }
+
+    private static final class CsvSink implements RowSink {
+        private final Writer writer;
+        private boolean headerWritten;
+
+        private CsvSink(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void row(ResultSet rs) throws SQLException, IOException {
+            if (!headerWritten) {
+                writeHeader();
+            }
+            for (int i = 0; i < CSV_HEADER.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(csv(rs.getObject(i + 1)));
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void finish() throws IOException {
+            if (!headerWritten) {
+                writeHeader();
+            }
+        }
+
+        private void writeHeader() throws IOException {
+            // UTF-8 BOM: Excel Türkçe karakterleri doğru göstersin
+            writer.write('\uFEFF');
+            writer.write(String.join(",", CSV_HEADER));
+            writer.write("\r\n");
+            headerWritten = true;
+        }
+
+        private static String csv(Object value) {
+            if (value == null) {
+                return "";
+            }
+            String text;
+            if (value instanceof BigDecimal) {
+                text = ((BigDecimal) value).toPlainString();
+            } else if (value instanceof Timestamp) {
+                text = ((Timestamp) value).toLocalDateTime().toString();
+            } else {
+                text = value.toString();
+            }
+            if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+                return '"' + text.replace("\"", "\"\"") + '"';
+            }
+            return text;
+        }
+    }
+
+    // Ardışık kalem satırlarını siparişe göre gruplar; bellekte en fazla bir sipariş açık kalır
+    private final class NdjsonSink implements RowSink {
+        private final Writer writer;
+        private JsonGenerator generator;
+        private long currentOrderId = -1;
+
+        private NdjsonSink(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void row(ResultSet rs) throws SQLException, IOException {
+            if (generator == null) {
+                generator = objectMapper.getFactory().createGenerator(writer);
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            }
+            long orderId = rs.getLong("order_id");
+            if (orderId != currentOrderId) {
+                closeOrder();
+                currentOrderId = orderId;
+                generator.writeStartObject();
+                generator.writeNumberField("id", orderId);
+                writeString("orderNumber", rs.getString("order_number"));
+                writeString("status", rs.getString("status"));
+                writeString("createdAt", timestamp(rs, "created_at"));
+                writeString("updatedAt", timestamp(rs, "updated_at"));
+                writeString("tableNumber", rs.getString("table_number"));
+                writeString("paymentMethod", rs.getString("payment_method"));
+                writeString("paymentStatus", rs.getString("payment_status"));
+                // Diğer API yanıtlarındaki gibi tutarlar string
+                writeString("totalAmount", decimal(rs, "total_amount"));
+                writeString("customerNotes", rs.getString("customer_notes"));
+                generator.writeArrayFieldStart("items");
+            }
+            long itemId = rs.getLong("item_id");
+            if (rs.wasNull()) {
+                return;
+            }
+            generator.writeStartObject();
+            generator.writeNumberField("id", itemId);
+            long productId = rs.getLong("product_id");
+            if (!rs.wasNull()) {
+                generator.writeNumberField("productId", productId);
+            }
+            writeString("productName", rs.getString("product_name"));
+            generator.writeNumberField("quantity", rs.getInt("quantity"));
+            writeString("unitPrice", decimal(rs, "unit_price"));
+            writeString("subtotal", decimal(rs, "subtotal"));
+            writeString("notes", rs.getString("item_notes"));
+            generator.writeEndObject();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            closeOrder();
+            if (generator != null) {
+                generator.flush();
+            }
+        }
+
+        private void closeOrder() throws IOException {
+            if (currentOrderId != -1) {
+                generator.writeEndArray();
+                generator.writeEndObject();
+                generator.flush();
+                writer.write('\n');
+            }
+        }
+
+        private void writeString(String field, String value) throws IOException {
+            if (value != null) {
+                generator.writeStringField(field, value);
+            }
+        }
+
+        private String timestamp(ResultSet rs, String column) throws SQLException {
+            LocalDateTime value = rs.getObject(column, LocalDateTime.class);
+            return value != null ? value.toString() : null;
+        }
+
+        private String decimal(ResultSet rs, String column) throws SQLException {
+            BigDecimal value = rs.getBigDecimal(column);
+            return value != null ? value.toPlainString() : null;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.restaurant.restaurantbackend.service;
+
+import com.restaurant.restaurantbackend.dto.OrderIngestionStatusDTO;
+import com.restaurant.restaurantbackend.model.Order;
+import com.restaurant.restaurantbackend.repository.OrderRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opsiyonel write-behind sipariş alma hattı (app.orders.ingestion.write-behind=true).
+ * İstek thread'i siparişi sadece doğrular, sipariş numarasını ayırır ve kuyruğa koyar.
+ * Tek bir yazıcı thread kuyruktaki siparişleri küçük gruplar halinde (grup başına tek
+ * transaction / tek commit) kaydeder. Mutfak bildirimi aynı transaction'da outbox'a yazılır ve
+ * ancak grup commit edildikten sonra gönderilir.
+ * Kuyruk doluysa yeni sipariş reddedilir (RejectedExecutionException → 503).
+ */
+@Service
+public class OrderIngestionService {
+
+    private static final int MAX_FAILED_ENTRIES = 1000;
+
+    private final OrderService orderService;
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final long maxBatchDelayMillis;
+    private final BlockingQueue<Order> queue;
+
+    // Kuyrukta bekleyen siparişler (sipariş numarasına göre)
+    private final Map<String, Order> pending = new ConcurrentHashMap<>();
+    // Kaydedilemeyen son siparişler ve hata mesajları
+    private final Map<String, String> failed = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > MAX_FAILED_ENTRIES;
+        }
+    };
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public OrderIngestionService(OrderService orderService,
+                                 OrderRepository orderRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.orders.ingestion.write-behind:false}") boolean enabled,
+                                 @Value("${app.orders.ingestion.queue-capacity:1000}") int queueCapacity,
+                                 @Value("${app.orders.ingestion.batch-size:50}") int batchSize,
+                                 @Value("${app.orders.ingestion.max-batch-delay-ms:20}") long maxBatchDelayMillis) {
+        this.orderService = orderService;
+        this.orderRepository = orderRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxBatchDelayMillis = maxBatchDelayMillis;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::runWriter, "order-ingestion-writer");
+        writer.start();
+    }
+
+    /**
+     * Kapanışta kuyrukta kalan siparişler de kaydedilir
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
+
+    /**
+     * Siparişi doğrular ve kayıt kuyruğuna ekler. Dönen siparişin ID'si henüz yoktur;
+     * sipariş numarası ayrılmış kimlik olarak kullanılır.
+     */
+    public OrderIngestionStatusDTO submit(Order order) {
+        if (!enabled) {
+            throw new IllegalStateException("Write-behind sipariş alma kapalı");
+        }
+        orderService.prepareOrder(order);
+        pending.put(order.getOrderNumber(), order);
+        if (!queue.offer(order)) {
+            pending.remove(order.getOrderNumber());
+            throw new RejectedExecutionException("Sipariş kuyruğu dolu, lütfen tekrar deneyin");
+        }
+        return new OrderIngestionStatusDTO(order.getOrderNumber(), "QUEUED", null, null);
+    }
+
+    public OrderIngestionStatusDTO getStatus(String orderNumber) {
+        if (pending.containsKey(orderNumber)) {
+            return new OrderIngestionStatusDTO(orderNumber, "QUEUED", null, null);
+        }
+        synchronized (failed) {
+            String error = failed.get(orderNumber);
+            if (error != null) {
+                return new OrderIngestionStatusDTO(orderNumber, "FAILED", null, error);
+            }
+        }
+        return orderRepository.findByOrderNumber(orderNumber)
+                .map(o -> new OrderIngestionStatusDTO(orderNumber, "PERSISTED", o.getId(), null))
+                .orElseGet(() -> new OrderIngestionStatusDTO(orderNumber, "UNKNOWN", null, null));
+    }
+
+    private void runWriter() {
+        List<Order> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Order first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // Grubu doldur: batchSize'a ulaşana veya bekleme süresi dolana kadar
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxBatchDelayMillis);
+                while (batch.size() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Order next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                persistBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } catch (Exception e) {
+                System.err.println("❌ Sipariş yazıcı hatası: " + e.getMessage());
+                e.printStackTrace();
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void persistBatch(List<Order> batch) {
+        try {
+            // Tüm grup ve bildirimleri (outbox) tek transaction'da: tek commit
+            transactionTemplate.executeWithoutResult(status -> {
+                orderRepository.saveAll(batch);
+                batch.forEach(orderService::notifyNewOrder);
+            });
+            batch.forEach(this::onPersisted);
+        } catch (Exception batchError) {
+            // Hatalı siparişi bulmak için grubu tek tek kaydet
+            System.err.println("⚠️ Sipariş grubu kaydedilemedi, tek tek deneniyor: " + batchError.getMessage());
+            for (Order order : batch) {
+                try {
+                    order.setId(null);
+                    if (order.getOrderItems() != null) {
+                        order.getOrderItems().forEach(item -> item.setId(null));
+                    }
+                    transactionTemplate.executeWithoutResult(status -> {
+                        orderRepository.save(order);
+                        orderService.notifyNewOrder(order);
+                    });
+                    onPersisted(order);
+                } catch (Exception e) {
+                    pending.remove(order.getOrderNumber());
+                    synchronized (failed) {
+                        failed.put(order.getOrderNumber(), e.getMessage());
+                    }
+                    System.err.println("❌ Sipariş kaydedilemedi: " + order.getOrderNumber() + " - " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    // Commit sonrası: kuyruk kaydının temizlenmesi
+    private void onPersisted(Order order) {
+        pending.remove(order.getOrderNumber());
+    }
+}
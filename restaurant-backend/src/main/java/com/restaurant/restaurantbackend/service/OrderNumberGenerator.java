@@ -0,0 +1,12 @@
+package com.restaurant.restaurantbackend.service;
+
+/**
+ * Sipariş numarası üretici. Farklı bir şema için OrderNumberConfig'teki bean bu arayüzün başka bir uygulamasını dönmelidir.
+ */
+public interface OrderNumberGenerator {
+
+    /**
+     * Yeni, benzersiz bir sipariş numarası döner. Aynı anda birden fazla thread'den çağrılabilir.
+     */
+    String next();
+}
@@ -1,37 +1,109 @@
 package com.restaurant.restaurantbackend.service;
 
+import com.restaurant.restaurantbackend.dto.BulkStatusUpdateResultDTO;
+import com.restaurant.restaurantbackend.dto.KitchenOrderDTO;
+import com.restaurant.restaurantbackend.dto.KitchenOrderItemDTO;
+import com.restaurant.restaurantbackend.dto.OrderBatchNotificationDTO;
 import com.restaurant.restaurantbackend.dto.OrderNotificationDTO;
+import com.restaurant.restaurantbackend.dto.OrderPageDTO;
+import com.restaurant.restaurantbackend.dto.OrderStatusRejectionDTO;
+import com.restaurant.restaurantbackend.dto.OrderStatusUpdateDTO;
+import com.restaurant.restaurantbackend.dto.OrderSummaryDTO;
+import com.restaurant.restaurantbackend.event.OrderChangedEvent;
+import com.restaurant.restaurantbackend.event.OrderStatusChangedEvent;
+import com.restaurant.restaurantbackend.model.ArchivedOrder;
 import com.restaurant.restaurantbackend.model.Order;
+import com.restaurant.restaurantbackend.model.OrderItem;
+import com.restaurant.restaurantbackend.model.OrderStatus;
+import com.restaurant.restaurantbackend.model.Product;
 import com.restaurant.restaurantbackend.model.RestaurantTable;
+import com.restaurant.restaurantbackend.repository.ArchivedOrderRepository;
+import com.restaurant.restaurantbackend.repository.OrderItemRepository;
 import com.restaurant.restaurantbackend.repository.OrderRepository;
 import com.restaurant.restaurantbackend.repository.RestaurantTableRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.lang.NonNull;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class OrderService {
 
+    // Bu durumlardaki siparişler kapanmış kabul edilir
+    public static final List<String> TERMINAL_STATUSES = List.of("DELIVERED", "CANCELLED");
+
+    // Sayfalı listede bir sayfadaki en fazla sipariş sayısı
+    public static final int MAX_PAGE_SIZE = 200;
+
+    // Tek toplu durum güncellemesindeki en fazla sipariş sayısı
+    public static final int MAX_BULK_STATUS_UPDATES = 200;
+
     private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
     private final RestaurantTableRepository restaurantTableRepository;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final NotificationOutboxService notificationOutbox;
+    private final OrderNumberGenerator orderNumberGenerator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MenuCacheService menuCacheService;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final KitchenBoardService kitchenBoardService;
 
     public OrderService(OrderRepository orderRepository, 
+                       OrderItemRepository orderItemRepository,
                        RestaurantTableRepository restaurantTableRepository,
-                       SimpMessagingTemplate messagingTemplate) {
+                       NotificationOutboxService notificationOutbox,
+                       OrderNumberGenerator orderNumberGenerator,
+                       ApplicationEventPublisher eventPublisher,
+                       MenuCacheService menuCacheService,
+                       ArchivedOrderRepository archivedOrderRepository,
+                       KitchenBoardService kitchenBoardService) {
         this.orderRepository = orderRepository;
+        this.orderItemRepository = orderItemRepository;
         this.restaurantTableRepository = restaurantTableRepository;
-        this.messagingTemplate = messagingTemplate;
+        this.notificationOutbox = notificationOutbox;
+        this.orderNumberGenerator = orderNumberGenerator;
+        this.eventPublisher = eventPublisher;
+        this.menuCacheService = menuCacheService;
+        this.archivedOrderRepository = archivedOrderRepository;
+        this.kitchenBoardService = kitchenBoardService;
     }
 
     @Transactional
     public Order createOrder(Order order) {
+        prepareOrder(order);
+        
+        Order savedOrder = orderRepository.save(order);
+        
+        // WebSocket üzerinden mutfak ekranına bildirim gönder
+        notifyNewOrder(savedOrder);
+        
+        return savedOrder;
+    }
+
+    /**
+     * Siparişi doğrular ve kaydedilmeye hazır hale getirir: masa kontrolü, menüden fiyatlandırma, toplam tutar,
+     * sipariş numarası, oluşturulma zamanı ve varsayılan durum. Veritabanına yazmaz.
+     */
+    public Order prepareOrder(Order order) {
         try {
             // RestaurantTable kontrolü
             if (order.getRestaurantTable() == null || order.getRestaurantTable().getId() == null) {
@@ -73,37 +145,154 @@ public class OrderService {
             throw new IllegalArgumentException("Order must have at least one item");
         }
         
-        // Toplam tutarı hesapla
-        BigDecimal total = order.getOrderItems().stream()
-                .map(item -> {
-                    if (item.getUnitPrice() == null) {
-                        throw new IllegalArgumentException("Order item must have a unit price");
-                    }
-                    return item.getUnitPrice().multiply(new BigDecimal(item.getQuantity()));
-                })
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        // Fiyat, ara toplam ve stok durumu istemciden değil bellekteki menüden: satır başına sorgu yok
+        MenuSnapshot menu = menuCacheService.getSnapshot();
+        BigDecimal total = BigDecimal.ZERO;
+        for (OrderItem item : order.getOrderItems()) {
+            total = total.add(priceItem(item, menu));
+        }
         order.setTotalAmount(total);
 
         // OrderNumber oluştur (eğer yoksa)
         if (order.getOrderNumber() == null || order.getOrderNumber().isEmpty()) {
-            order.setOrderNumber("ORD-" + System.currentTimeMillis());
+            order.setOrderNumber(orderNumberGenerator.next());
         }
 
         order.setCreatedAt(LocalDateTime.now());
-        if (order.getStatus() == null || order.getStatus().isEmpty()) {
-            order.setStatus("PENDING");
+        // Yeni sipariş her zaman beklemede başlar; sonraki durumlar sadece izinli geçişlerle
+        order.setStatus(OrderStatus.PENDING.name());
+        return order;
+    }
+
+    /**
+     * Kalemin ürününü menü snapshot'ından çözer, birim fiyat ve ara toplamı güncel fiyattan yazar.
+     * Ürün yoksa, satışta değilse veya sepetteki fiyat güncel fiyattan farklıysa IllegalArgumentException fırlatır.
+     */
+    private static BigDecimal priceItem(OrderItem item, MenuSnapshot menu) {
+        if (item.getProduct() == null || item.getProduct().getId() == null) {
+            throw new IllegalArgumentException("Order item must have a product");
         }
-        
-        Order savedOrder = orderRepository.save(order);
-        
-        // WebSocket üzerinden mutfak ekranına bildirim gönder
-        sendOrderNotification(savedOrder, "Yeni sipariş geldi!");
-        
-        return savedOrder;
+        Long productId = item.getProduct().getId();
+        if (item.getQuantity() <= 0) {
+            throw new IllegalArgumentException("Geçersiz adet (ürün ID: " + productId + "): " + item.getQuantity());
+        }
+        Product product = menu.getProduct(productId);
+        if (product == null) {
+            throw new IllegalArgumentException("Ürün bulunamadı veya menüden kaldırıldı (ürün ID: " + productId + ")");
+        }
+        if (!product.isAvailable() || (product.getCategory() != null && !product.getCategory().isActive())) {
+            throw new IllegalArgumentException("Ürün şu anda satışta değil: " + product.getName());
+        }
+        BigDecimal price = product.getPrice();
+        if (price == null) {
+            throw new IllegalArgumentException("Ürünün fiyatı tanımlı değil: " + product.getName());
+        }
+        // Sepet eski bir menüden oluşturulmuşsa müşteri yeni fiyatı görmeden sipariş vermesin
+        if (item.getUnitPrice() != null && item.getUnitPrice().compareTo(price) != 0) {
+            throw new IllegalArgumentException("Ürünün fiyatı değişti: " + product.getName()
+                    + " (sepetteki: " + item.getUnitPrice().toPlainString() + ", güncel: " + price.toPlainString() + ")");
+        }
+        BigDecimal subtotal = price.multiply(BigDecimal.valueOf(item.getQuantity()));
+        // Snapshot'taki ürün kopyası sadece yabancı anahtar için kullanılır; ürün tekrar okunmaz
+        item.setProduct(product);
+        item.setUnitPrice(price);
+        item.setSubtotal(subtotal);
+        return subtotal;
+    }
+
+    /**
+     * Kaydedilmiş yeni sipariş için olayı yayınlar ve mutfak bildirimini outbox'a yazar.
+     * Siparişi kaydeden transaction içinde çağrılmalı: ikisi de ancak commit sonrası görünür.
+     */
+    public void notifyNewOrder(Order order) {
+        eventPublisher.publishEvent(new OrderChangedEvent(order));
+        sendOrderNotification(order, "Yeni sipariş geldi!");
+    }
+
+    /**
+     * Sipariş listesinin bir sayfası (yeniden eskiye). cursor önceki sayfanın nextCursor değeridir.
+     * Kalemler sadece includeItems true ise, sayfadaki siparişler için tek sorguda yüklenir.
+     * Sadece sıcak (arşivlenmemiş) siparişleri döner.
+     */
+    @Transactional(readOnly = true)
+    public OrderPageDTO getOrderPage(Collection<String> statuses, Long tableId,
+                                     LocalDateTime from, LocalDateTime to,
+                                     String cursor, int limit, boolean includeItems) {
+        OrderPageDTO result = readPage(cursor, limit, (afterCreatedAt, afterId, size) ->
+                orderRepository.findSummaries(statuses, tableId, from, to, afterCreatedAt, afterId, size));
+
+        List<OrderSummaryDTO> page = result.getOrders();
+        if (includeItems && !page.isEmpty()) {
+            List<Long> ids = page.stream().map(OrderSummaryDTO::getId).collect(Collectors.toList());
+            Map<Long, List<OrderItem>> itemsByOrderId = orderItemRepository.findByOrderIdIn(ids).stream()
+                    .collect(Collectors.groupingBy(item -> item.getOrder().getId()));
+            page.forEach(summary -> summary.setItems(itemsByOrderId.getOrDefault(summary.getId(), List.of())));
+        }
+        return result;
+    }
+
+    /**
+     * Arşivlenmiş siparişler için getOrderPage ile aynı filtreler ve cursor biçimi (raporlama için).
+     * Kalemler listede yer almaz, getArchivedOrderById ile okunur.
+     */
+    @Transactional(readOnly = true)
+    public OrderPageDTO getArchivedOrderPage(Collection<String> statuses, Long tableId,
+                                             LocalDateTime from, LocalDateTime to,
+                                             String cursor, int limit) {
+        return readPage(cursor, limit, (afterCreatedAt, afterId, size) ->
+                archivedOrderRepository.findSummaries(statuses, tableId, from, to, afterCreatedAt, afterId, size));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<ArchivedOrder> getArchivedOrderById(@NonNull Long id) {
+        return archivedOrderRepository.findWithItemsById(id);
+    }
+
+    private OrderPageDTO readPage(String cursor, int limit, SummaryQuery query) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        LocalDateTime afterCreatedAt = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                String[] parts = decodeCursor(cursor);
+                afterCreatedAt = LocalDateTime.parse(parts[0]);
+                afterId = Long.parseLong(parts[1]);
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new IllegalArgumentException("Geçersiz cursor: " + cursor);
+            }
+        }
+
+        // Bir fazlası okunur: sonraki sayfa olup olmadığını ayrı bir COUNT sorgusu olmadan anlamak için
+        List<OrderSummaryDTO> rows = query.find(afterCreatedAt, afterId, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        List<OrderSummaryDTO> page = hasMore ? new ArrayList<>(rows.subList(0, pageSize)) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            OrderSummaryDTO last = page.get(page.size() - 1);
+            nextCursor = encodeCursor(last.getCreatedAt(), last.getId());
+        }
+        return new OrderPageDTO(page, nextCursor, hasMore);
+    }
+
+    // Sıcak veya arşiv tablosundan, seek konumundan sonraki en fazla limit özet
+    private interface SummaryQuery {
+        List<OrderSummaryDTO> find(LocalDateTime afterCreatedAt, Long afterId, int limit);
     }
 
-    public List<Order> getAllOrders() {
-        return orderRepository.findAll();
+    // Cursor istemci için opak: "createdAt|id" base64url ile kodlanır
+    private static String encodeCursor(LocalDateTime createdAt, Long id) {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        String[] parts = raw.split("\\|");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Geçersiz cursor");
+        }
+        return parts;
     }
     
     public Optional<Order> getOrderById(@NonNull Long id) {
@@ -120,32 +309,150 @@ public class OrderService {
         return orderRepository.findByRestaurantTableId(tableId);
     }
     
+    /**
+     * Durumu tek bir koşullu UPDATE ile değiştirir: sipariş yüklenmez, sadece mevcut durumu
+     * hedefe geçişe izin veren siparişler güncellenir. İki ekranın aynı anda değiştirmesi
+     * durumunda ikincisi 409 alır, değişiklik kaybolmaz.
+     * Sipariş yoksa NoSuchElementException, geçiş geçersizse IllegalStateException fırlatır.
+     */
     @Transactional
-    public Order updateOrderStatus(@NonNull Long orderId, @NonNull String status) {
+    public OrderNotificationDTO updateOrderStatus(@NonNull Long orderId, @NonNull String status) {
         if (orderId == null) {
             throw new IllegalArgumentException("Order ID cannot be null");
         }
-        if (status == null || status.isEmpty()) {
-            throw new IllegalArgumentException("Status cannot be null or empty");
+        OrderStatus target = OrderStatus.parse(status);
+        List<OrderNotificationDTO> updated = orderRepository.updateStatus(List.of(orderId), target.name(),
+                statusNames(OrderStatus.sourcesOf(target)));
+        if (updated.isEmpty()) {
+            String current = orderRepository.findStatusById(orderId)
+                    .orElseThrow(() -> new NoSuchElementException("Order not found with id: " + orderId));
+            throw new IllegalStateException("Sipariş durumu " + current + " → " + target + " olarak değiştirilemez");
         }
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new RuntimeException("Order not found with id: " + orderId));
-        
-        order.setStatus(status);
-        order.setUpdatedAt(LocalDateTime.now());
-        
-        Order updatedOrder = orderRepository.save(order);
-        
-        // WebSocket üzerinden sipariş durumu güncellemesi gönder
-        // Hem mutfak ekranına hem de müşteri ekranına
-        sendOrderNotification(updatedOrder, "Sipariş durumu güncellendi: " + status);
+
+        OrderNotificationDTO row = updated.get(0);
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(row.getOrderId(), row.getStatus(), row.getUpdatedAt()));
         
-        // Müşteri için özel topic'e de gönder (masa bazlı)
-        if (updatedOrder.getRestaurantTable() != null) {
-            sendOrderStatusUpdateToCustomer(updatedOrder);
+        // Sipariş durumu güncellemesi mutfak ekranına, siparişin kalemi olan istasyonlara ve müşteri
+        // ekranına (masa bazlı) gider (outbox üzerinden, transaction commit edildikten sonra).
+        // Mutfak ve istasyon topic'leri aynı gövdeyi paylaşır (JSON bir kez üretilir); müşteri kendi metniyle ayrı kopya alır.
+        // Pano bu noktada henüz güncellenmedi (commit sonrası), sipariş hâlâ eski durumuyla orada.
+        row.setMessage("Sipariş durumu güncellendi: " + row.getStatus());
+        List<String> destinations = new ArrayList<>();
+        destinations.add(NotificationTopics.KITCHEN);
+        kitchenBoardService.getStationIds(List.of(orderId)).getOrDefault(orderId, Set.of())
+                .forEach(categoryId -> destinations.add(NotificationTopics.station(categoryId)));
+        notificationOutbox.enqueue(destinations, notificationOutbox.encode(row), orderCoalesceKey(row.getOrderId()));
+        if (row.getTableId() != null) {
+            notificationOutbox.enqueue(NotificationTopics.table(row.getTableId()), toCustomerNotification(row),
+                    orderCoalesceKey(row.getOrderId()));
         }
         
-        return updatedOrder;
+        return row;
+    }
+
+    /**
+     * Birden fazla siparişin durumunu tek transaction'da değiştirir. İstekler hedef duruma göre
+     * gruplanır ve her grup tek bir koşullu UPDATE ile uygulanır. Geçişi geçersiz olan veya
+     * bulunamayan siparişler diğerlerini engellemez, rejected listesinde döner.
+     * Mutfağa tek bir toplu mesaj, etkilenen her masaya da kendi siparişlerini içeren tek mesaj gider.
+     */
+    @Transactional
+    public BulkStatusUpdateResultDTO updateOrderStatuses(List<OrderStatusUpdateDTO> updates) {
+        if (updates == null || updates.isEmpty()) {
+            throw new IllegalArgumentException("En az bir durum güncellemesi gerekli");
+        }
+        if (updates.size() > MAX_BULK_STATUS_UPDATES) {
+            throw new IllegalArgumentException("Tek seferde en fazla " + MAX_BULK_STATUS_UPDATES + " sipariş güncellenebilir");
+        }
+        Map<OrderStatus, List<Long>> idsByTarget = new EnumMap<>(OrderStatus.class);
+        Map<Long, OrderStatus> targetById = new LinkedHashMap<>();
+        for (OrderStatusUpdateDTO update : updates) {
+            if (update == null || update.getId() == null) {
+                throw new IllegalArgumentException("Order ID cannot be null");
+            }
+            OrderStatus target = OrderStatus.parse(update.getStatus());
+            if (targetById.put(update.getId(), target) != null) {
+                throw new IllegalArgumentException("Aynı sipariş birden fazla kez verilmiş: " + update.getId());
+            }
+            idsByTarget.computeIfAbsent(target, t -> new ArrayList<>()).add(update.getId());
+        }
+
+        List<OrderNotificationDTO> updated = new ArrayList<>();
+        idsByTarget.forEach((target, ids) -> updated.addAll(orderRepository.updateStatus(ids, target.name(),
+                statusNames(OrderStatus.sourcesOf(target)))));
+
+        List<OrderStatusRejectionDTO> rejected = new ArrayList<>();
+        if (updated.size() < targetById.size()) {
+            Set<Long> updatedIds = updated.stream().map(OrderNotificationDTO::getOrderId).collect(Collectors.toSet());
+            Set<Long> missing = new HashSet<>(targetById.keySet());
+            missing.removeAll(updatedIds);
+            Map<Long, String> currentStatuses = new HashMap<>();
+            for (Object[] row : orderRepository.findStatusesByIds(missing)) {
+                currentStatuses.put((Long) row[0], (String) row[1]);
+            }
+            targetById.forEach((id, target) -> {
+                if (missing.contains(id)) {
+                    String current = currentStatuses.get(id);
+                    rejected.add(new OrderStatusRejectionDTO(id, current, target.name(),
+                            current == null ? "NOT_FOUND" : "INVALID_TRANSITION"));
+                }
+            });
+        }
+
+        if (!updated.isEmpty()) {
+            for (OrderNotificationDTO row : updated) {
+                row.setMessage("Sipariş durumu güncellendi: " + row.getStatus());
+                eventPublisher.publishEvent(new OrderStatusChangedEvent(row.getOrderId(), row.getStatus(), row.getUpdatedAt()));
+            }
+            sendBatchNotifications(updated);
+        }
+        return new BulkStatusUpdateResultDTO(updated, rejected);
+    }
+
+    // Mutfağa tüm değişiklikler tek mesajda; her istasyona ve her masaya kendi siparişleri tek mesajda
+    private void sendBatchNotifications(List<OrderNotificationDTO> updated) {
+        notificationOutbox.enqueue(NotificationTopics.KITCHEN,
+                new OrderBatchNotificationDTO(null, updated, updated.size() + " siparişin durumu güncellendi"));
+
+        Map<Long, Set<Long>> stationsByOrderId = kitchenBoardService.getStationIds(
+                updated.stream().map(OrderNotificationDTO::getOrderId).collect(Collectors.toList()));
+        Map<Long, List<OrderNotificationDTO>> byStation = new LinkedHashMap<>();
+        for (OrderNotificationDTO row : updated) {
+            for (Long categoryId : stationsByOrderId.getOrDefault(row.getOrderId(), Set.of())) {
+                byStation.computeIfAbsent(categoryId, id -> new ArrayList<>()).add(row);
+            }
+        }
+        byStation.forEach((categoryId, rows) -> notificationOutbox.enqueue(NotificationTopics.station(categoryId),
+                new OrderBatchNotificationDTO(null, rows, rows.size() + " siparişin durumu güncellendi")));
+
+        Map<Long, List<OrderNotificationDTO>> byTable = updated.stream()
+                .filter(row -> row.getTableId() != null)
+                .collect(Collectors.groupingBy(OrderNotificationDTO::getTableId, LinkedHashMap::new, Collectors.toList()));
+        byTable.forEach((tableId, rows) -> {
+            List<OrderNotificationDTO> customerRows = rows.stream()
+                    .map(OrderService::toCustomerNotification)
+                    .collect(Collectors.toList());
+            notificationOutbox.enqueue(NotificationTopics.table(tableId),
+                    new OrderBatchNotificationDTO(tableId, customerRows, "Siparişlerinizin durumu güncellendi"));
+        });
+    }
+
+    // Müşteri ekranı (masa topic'i) için aynı satırın müşteriye hitap eden kopyası
+    private static OrderNotificationDTO toCustomerNotification(OrderNotificationDTO row) {
+        OrderNotificationDTO customer = new OrderNotificationDTO(row.getOrderId(), row.getOrderNumber(), row.getStatus(),
+                row.getTotalAmount(), row.getTableId(), row.getTableNumber(), row.getCreatedAt(),
+                "Sipariş durumunuz güncellendi: " + row.getStatus());
+        customer.setUpdatedAt(row.getUpdatedAt());
+        return customer;
+    }
+
+        // Aynı siparişin art arda durum bildirimleri birleştirilir (sadece son durum gönderilir)
+    private static String orderCoalesceKey(Long orderId) {
+        return "order-status:" + orderId;
+    }
+
+    private static List<String> statusNames(Collection<OrderStatus> statuses) {
+        return statuses.stream().map(OrderStatus::name).collect(Collectors.toList());
     }
     
     /**
@@ -164,26 +471,20 @@ public class OrderService {
         );
         
         // "/topic/kitchen" topic'ine mesaj gönder (mutfak ekranı bu topic'e abone olacak)
-        messagingTemplate.convertAndSend("/topic/kitchen", notification);
-    }
-    
-    /**
-     * Müşteri ekranına sipariş durumu güncellemesi gönderir (masa bazlı)
-     */
-    private void sendOrderStatusUpdateToCustomer(Order order) {
-        OrderNotificationDTO notification = new OrderNotificationDTO(
-            order.getId(),
-            order.getOrderNumber(),
-            order.getStatus(),
-            order.getTotalAmount(),
-            order.getRestaurantTable().getId(),
-            order.getRestaurantTable().getTableNumber(),
-            order.getCreatedAt(),
-            "Sipariş durumunuz güncellendi: " + order.getStatus()
-        );
-        
-        // "/topic/table/{tableId}" topic'ine mesaj gönder (müşteri bu topic'e abone olacak)
-        String topic = "/topic/table/" + order.getRestaurantTable().getId();
-        messagingTemplate.convertAndSend(topic, notification);
+        notificationOutbox.enqueue(NotificationTopics.KITCHEN, notification);
+
+        // Her istasyona siparişin sadece kendi kategorisindeki kalemleri; kategorisi bilinmeyen
+        // kalemler sadece toplu topic'te görünür
+        KitchenOrderDTO view = kitchenBoardService.toView(order);
+        Set<Long> stations = new LinkedHashSet<>();
+        for (KitchenOrderItemDTO item : view.getItems()) {
+            if (item.getCategoryId() != null) {
+                stations.add(item.getCategoryId());
+            }
+        }
+        for (Long categoryId : stations) {
+            notificationOutbox.enqueue(NotificationTopics.station(categoryId),
+                    KitchenBoardService.forStation(view, categoryId));
+        }
     }
-}
\ No newline at end of file
+}
@@ -5,6 +5,7 @@ import com.restaurant.restaurantbackend.repository.ProductRepository;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,35 +13,66 @@ import java.util.Optional;
 public class ProductService {
 
     private final ProductRepository productRepository;
+    private final MenuCacheService menuCacheService;
+    private final MenuSearchIndex menuSearchIndex;
 
     // Constructor'ı elle ekliyoruz
-    public ProductService(ProductRepository productRepository) {
+    public ProductService(ProductRepository productRepository, MenuCacheService menuCacheService,
+                          MenuSearchIndex menuSearchIndex) {
         this.productRepository = productRepository;
+        this.menuCacheService = menuCacheService;
+        this.menuSearchIndex = menuSearchIndex;
     }
 
+    /**
+     * Güncel menü snapshot'ı. Liste ve versiyon (ETag) aynı snapshot'tan okunmalıdır.
+     */
+    public MenuSnapshot getMenuSnapshot() {
+        return menuCacheService.getSnapshot();
+    }
+
+    // Okuma işlemleri bellekteki menü snapshot'ından cevaplanır (veritabanına gidilmez)
     public List<Product> getAllProducts() {
-        return productRepository.findAll();
+        return menuCacheService.getSnapshot().getProducts();
     }
     
     public Optional<Product> getProductById(@NonNull Long id) {
         if (id == null) {
             throw new IllegalArgumentException("Product ID cannot be null");
         }
-        return productRepository.findById(id);
+        return Optional.ofNullable(menuCacheService.getSnapshot().getProduct(id));
     }
     
     public List<Product> getProductsByCategoryId(@NonNull Long categoryId) {
         if (categoryId == null) {
             throw new IllegalArgumentException("Category ID cannot be null");
         }
-        return productRepository.findByCategoryId(categoryId);
+        return menuCacheService.getSnapshot().getProductsByCategoryId(categoryId);
+    }
+
+    /**
+     * Ürün adı, açıklama, kategori ve alerjenlerde Türkçe duyarlı, önek destekli arama.
+     * Sonuçlar puana göre sıralıdır.
+     */
+    public List<Product> searchProducts(String query, int limit) {
+        MenuSnapshot menu = menuCacheService.getSnapshot();
+        List<Product> results = new ArrayList<>();
+        for (Long id : menuSearchIndex.search(query, limit)) {
+            Product product = menu.getProduct(id);
+            if (product != null) {
+                results.add(product);
+            }
+        }
+        return results;
     }
 
     public Product createOrUpdateProduct(@NonNull Product product) {
         if (product == null) {
             throw new IllegalArgumentException("Product cannot be null");
         }
-        return productRepository.save(product);
+        Product savedProduct = productRepository.save(product);
+        menuCacheService.refreshAfterCommit();
+        return savedProduct;
     }
 
     public void deleteProduct(@NonNull Long id) {
@@ -48,5 +80,6 @@ public class ProductService {
             throw new IllegalArgumentException("Product ID cannot be null");
         }
         productRepository.deleteById(id);
+        menuCacheService.refreshAfterCommit();
     }
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.restaurant.restaurantbackend.service;
+
+import com.restaurant.restaurantbackend.model.Allergen;
+import com.restaurant.restaurantbackend.model.Product;
+
+/**
+ * Ürünün alerjen ve diyet bilgilerinin tek bir long içinde bit maskesi olarak tutulması.
+ * Alt bitler {@link Allergen} sırasına göredir, üst bitler diyet bayraklarıdır.
+ * Maske menü snapshot'ı oluşturulurken bir kez hesaplanır; filtreleme sadece bit işlemidir.
+ */
+public final class ProductTraits {
+
+    public static final long VEGAN = 1L << 62;
+    public static final long VEGETARIAN = 1L << 61;
+
+    private ProductTraits() {
+    }
+
+    public static long of(Product product) {
+        long traits = 0L;
+        if (product.getAllergens() != null) {
+            for (String allergen : product.getAllergens()) {
+                traits |= Allergen.maskOf(allergen);
+            }
+        }
+        if (Boolean.TRUE.equals(product.getIsVegan())) {
+            // Vegan ürün aynı zamanda vejetaryendir
+            traits |= VEGAN | VEGETARIAN;
+        }
+        if (Boolean.TRUE.equals(product.getIsVegetarian())) {
+            traits |= VEGETARIAN;
+        }
+        return traits;
+    }
+}
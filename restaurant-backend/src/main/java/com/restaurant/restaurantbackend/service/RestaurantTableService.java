@@ -2,12 +2,18 @@ package com.restaurant.restaurantbackend.service;
 
 import com.restaurant.restaurantbackend.model.RestaurantTable;
 import com.restaurant.restaurantbackend.repository.RestaurantTableRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 public class RestaurantTableService {
@@ -15,11 +21,27 @@ public class RestaurantTableService {
     private final RestaurantTableRepository restaurantTableRepository;
     private final QRCodeService qrCodeService;
 
+    // Masa listesinin içerik versiyonu (ETag / Last-Modified); her yazma işleminde bir kez artırılır
+    private final AtomicLong tablesVersionCounter = new AtomicLong();
+    private volatile ContentVersion tablesVersion = ContentVersion.of("tables", 0, Instant.now());
+
     public RestaurantTableService(RestaurantTableRepository restaurantTableRepository, QRCodeService qrCodeService) {
         this.restaurantTableRepository = restaurantTableRepository;
         this.qrCodeService = qrCodeService;
     }
 
+    public ContentVersion getTablesVersion() {
+        return tablesVersion;
+    }
+
+    /**
+     * DataInitializer masaları doğrudan repository ile eklediği için açılışta versiyonu ilerlet
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        bumpTablesVersion();
+    }
+
     public List<RestaurantTable> getAllTables() {
         return restaurantTableRepository.findAll();
     }
@@ -52,10 +74,14 @@ public class RestaurantTableService {
             RestaurantTable savedTable = restaurantTableRepository.save(table);
             String qrContent = qrCodeService.getQRCodeContent(savedTable.getId());
             savedTable.setQrCode(qrContent);
-            return restaurantTableRepository.save(savedTable);
+            RestaurantTable result = restaurantTableRepository.save(savedTable);
+            bumpTablesVersionAfterCommit();
+            return result;
         }
         
-        return restaurantTableRepository.save(table);
+        RestaurantTable result = restaurantTableRepository.save(table);
+        bumpTablesVersionAfterCommit();
+        return result;
     }
     
     /**
@@ -72,7 +98,9 @@ public class RestaurantTableService {
         String qrContent = qrCodeService.getQRCodeContent(tableId);
         table.setQrCode(qrContent);
         
-        return restaurantTableRepository.save(table);
+        RestaurantTable result = restaurantTableRepository.save(table);
+        bumpTablesVersionAfterCommit();
+        return result;
     }
 
     public void deleteTable(@NonNull Long id) {
@@ -80,5 +108,23 @@ public class RestaurantTableService {
             throw new IllegalArgumentException("Table ID cannot be null");
         }
         restaurantTableRepository.deleteById(id);
+        bumpTablesVersionAfterCommit();
+    }
+
+    private void bumpTablesVersionAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bumpTablesVersion();
+                }
+            });
+        } else {
+            bumpTablesVersion();
+        }
+    }
+
+    private void bumpTablesVersion() {
+        tablesVersion = ContentVersion.of("tables", tablesVersionCounter.incrementAndGet(), Instant.now());
     }
 }
\ No newline at end of file
@@ -0,0 +1,419 @@
+package com.restaurant.restaurantbackend.service;
+
+import com.restaurant.restaurantbackend.dto.ProductSalesDTO;
+import com.restaurant.restaurantbackend.dto.SalesAnalyticsDTO;
+import com.restaurant.restaurantbackend.dto.SalesBucketDTO;
+import com.restaurant.restaurantbackend.dto.TableSalesDTO;
+import com.restaurant.restaurantbackend.event.OrderChangedEvent;
+import com.restaurant.restaurantbackend.event.OrderStatusChangedEvent;
+import com.restaurant.restaurantbackend.model.Order;
+import com.restaurant.restaurantbackend.model.OrderItem;
+import com.restaurant.restaurantbackend.model.Product;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sipariş olaylarıyla artımlı güncellenen canlı satış özetleri.
+ * Ciro ve sipariş sayısı dakika (son 60), saat (son 24) ve gün (son 30) halkalarında; ürün ve masa
+ * toplamları günlük sayaçlarda tutulur. Okuma maliyeti sipariş geçmişine değil halka boyutuna, menüdeki
+ * ürün ve masa sayısına bağlıdır. Açılışta son 30 gün veritabanından bir kez toplanır.
+ * Tutarlar kuruş cinsinden long olarak tutulur. İptal edilen sipariş eklendiği dilimlerden geri düşülür.
+ */
+@Service
+public class SalesAnalyticsService {
+
+    public static final String ANALYTICS_TOPIC = "/topic/analytics";
+    public static final int DEFAULT_TOP_PRODUCTS = 10;
+    private static final int MAX_TOP_PRODUCTS = 50;
+    // ordersPerMinute son bu kadar dakikanın ortalamasıdır
+    private static final int THROUGHPUT_WINDOW_MINUTES = 15;
+
+    // Açılış toplaması: sıcak ve arşiv tablolarındaki son 30 günün dakikalık ciroları
+    private static final String BUCKETS_SQL =
+            "SELECT date_trunc('minute', created_at) AS bucket, SUM(total_amount) AS revenue, COUNT(*) AS order_count "
+            + "FROM (SELECT created_at, total_amount, status FROM orders "
+            + "      UNION ALL SELECT created_at, total_amount, status FROM orders_archive) o "
+            + "WHERE o.status <> 'CANCELLED' AND o.created_at >= :since "
+            + "GROUP BY 1";
+    private static final String PRODUCTS_SQL =
+            "SELECT i.product_id, SUM(i.quantity) AS quantity, SUM(i.subtotal) AS revenue "
+            + "FROM order_items i JOIN orders o ON o.id = i.order_id "
+            + "WHERE o.status <> 'CANCELLED' AND o.created_at >= :since AND i.product_id IS NOT NULL "
+            + "GROUP BY i.product_id";
+    private static final String TABLES_SQL =
+            "SELECT o.table_id, MAX(t.table_number) AS table_number, COUNT(*) AS order_count, SUM(o.total_amount) AS revenue "
+            + "FROM orders o LEFT JOIN tables t ON t.id = o.table_id "
+            + "WHERE o.status <> 'CANCELLED' AND o.created_at >= :since AND o.table_id IS NOT NULL "
+            + "GROUP BY o.table_id";
+    // Henüz kapanmamış siparişler: iptal edilirlerse katkıları geri düşülebilsin
+    private static final String OPEN_ORDERS_SQL =
+            "SELECT o.id, o.created_at, o.total_amount, o.table_id, i.product_id, i.quantity, i.subtotal "
+            + "FROM orders o LEFT JOIN order_items i ON i.order_id = o.id "
+            + "WHERE o.status NOT IN (:terminal) AND o.created_at IS NOT NULL";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final MenuCacheService menuCacheService;
+
+    private final Ring minutes = new Ring(60, Granularity.MINUTE);
+    private final Ring hours = new Ring(24, Granularity.HOUR);
+    private final Ring days = new Ring(30, Granularity.DAY);
+
+    // Günlük sayaçlar (currentDay değişince sıfırlanır): ürün ID -> [adet, kuruş], masa ID -> toplam
+    private long currentDay = Long.MIN_VALUE;
+    private final Map<Long, long[]> productTotals = new HashMap<>();
+    private final Map<Long, TableTotal> tableTotals = new HashMap<>();
+
+    // Sipariş ID -> açık siparişin katkısı (sipariş teslim / iptal edilince çıkar)
+    private final Map<Long, Contribution> openOrders = new HashMap<>();
+
+    // Son yayından sonra değişiklik oldu mu
+    private boolean dirty;
+
+    public SalesAnalyticsService(NamedParameterJdbcTemplate jdbcTemplate,
+                                 SimpMessagingTemplate messagingTemplate,
+                                 MenuCacheService menuCacheService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.messagingTemplate = messagingTemplate;
+        this.menuCacheService = menuCacheService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime today = now.toLocalDate().atStartOfDay();
+        try {
+            List<Object[]> buckets = jdbcTemplate.query(BUCKETS_SQL,
+                    new MapSqlParameterSource("since", today.minusDays(days.size - 1)),
+                    (rs, i) -> new Object[] {rs.getObject("bucket", LocalDateTime.class),
+                            toCents(rs.getBigDecimal("revenue")), rs.getLong("order_count")});
+            List<Object[]> products = jdbcTemplate.query(PRODUCTS_SQL, new MapSqlParameterSource("since", today),
+                    (rs, i) -> new Object[] {rs.getLong("product_id"), rs.getLong("quantity"),
+                            toCents(rs.getBigDecimal("revenue"))});
+            List<Object[]> tables = jdbcTemplate.query(TABLES_SQL, new MapSqlParameterSource("since", today),
+                    (rs, i) -> new Object[] {rs.getLong("table_id"), rs.getString("table_number"),
+                            rs.getLong("order_count"), toCents(rs.getBigDecimal("revenue"))});
+            Map<Long, Contribution> open = new HashMap<>();
+            jdbcTemplate.query(OPEN_ORDERS_SQL, new MapSqlParameterSource("terminal", OrderService.TERMINAL_STATUSES),
+                    rs -> {
+                        long orderId = rs.getLong("id");
+                        Contribution c = open.get(orderId);
+                        if (c == null) {
+                            long tableId = rs.getLong("table_id");
+                            Long table = rs.wasNull() ? null : tableId;
+                            c = new Contribution(rs.getObject("created_at", LocalDateTime.class),
+                                    toCents(rs.getBigDecimal("total_amount")), table);
+                            open.put(orderId, c);
+                        }
+                        long productId = rs.getLong("product_id");
+                        if (!rs.wasNull()) {
+                            c.items.add(new long[] {productId, rs.getInt("quantity"), toCents(rs.getBigDecimal("subtotal"))});
+                        }
+                    });
+
+            synchronized (this) {
+                minutes.clear();
+                hours.clear();
+                days.clear();
+                productTotals.clear();
+                tableTotals.clear();
+                openOrders.clear();
+                currentDay = now.toLocalDate().toEpochDay();
+                for (Object[] row : buckets) {
+                    addToRings((LocalDateTime) row[0], (Long) row[1], (Long) row[2], now);
+                }
+                for (Object[] row : products) {
+                    productTotals.put((Long) row[0], new long[] {(Long) row[1], (Long) row[2]});
+                }
+                for (Object[] row : tables) {
+                    tableTotals.put((Long) row[0], new TableTotal((String) row[1], (Long) row[2], (Long) row[3]));
+                }
+                openOrders.putAll(open);
+                dirty = true;
+            }
+            System.out.println("📈 Satış analitiği yüklendi: " + buckets.size() + " dakika dilimi, "
+                    + open.size() + " açık sipariş");
+        } catch (Exception e) {
+            System.err.println("⚠️ Satış analitiği yüklenemedi, sadece yeni siparişler sayılacak: " + e.getMessage());
+        }
+    }
+
+    // Yeni sipariş commit edildikten sonra (write-behind ile transaction dışında kaydedilenler dahil)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderChanged(OrderChangedEvent event) {
+        Order order = event.getOrder();
+        if (order == null || order.getId() == null || order.getCreatedAt() == null
+                || "CANCELLED".equals(order.getStatus())) {
+            return;
+        }
+        Long tableId = order.getRestaurantTable() != null ? order.getRestaurantTable().getId() : null;
+        String tableNumber = order.getRestaurantTable() != null ? order.getRestaurantTable().getTableNumber() : null;
+        Contribution c = new Contribution(order.getCreatedAt(), toCents(order.getTotalAmount()), tableId);
+        if (order.getOrderItems() != null) {
+            for (OrderItem item : order.getOrderItems()) {
+                if (item.getProduct() != null && item.getProduct().getId() != null) {
+                    c.items.add(new long[] {item.getProduct().getId(), item.getQuantity(), toCents(item.getSubtotal())});
+                }
+            }
+        }
+
+        synchronized (this) {
+            if (openOrders.containsKey(order.getId())) {
+                return;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            apply(c, 1, tableNumber, now);
+            if (!OrderService.TERMINAL_STATUSES.contains(order.getStatus())) {
+                openOrders.put(order.getId(), c);
+            }
+            dirty = true;
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        if (!OrderService.TERMINAL_STATUSES.contains(event.getStatus())) {
+            return;
+        }
+        synchronized (this) {
+            Contribution c = openOrders.remove(event.getOrderId());
+            if (c != null && "CANCELLED".equals(event.getStatus())) {
+                apply(c, -1, null, LocalDateTime.now());
+                dirty = true;
+            }
+        }
+    }
+
+    /**
+     * Anlık özet. top: en çok satan kaç ürün döneceği (1-50).
+     */
+    public synchronized SalesAnalyticsDTO getLive(int top) {
+        LocalDateTime now = LocalDateTime.now();
+        rollDay(now);
+        int limit = Math.max(1, Math.min(top, MAX_TOP_PRODUCTS));
+
+        List<SalesBucketDTO> byMinute = minutes.toBuckets(now);
+        long recentOrders = 0;
+        for (int i = byMinute.size() - THROUGHPUT_WINDOW_MINUTES; i < byMinute.size(); i++) {
+            recentOrders += byMinute.get(i).getOrderCount();
+        }
+        List<SalesBucketDTO> byDay = days.toBuckets(now);
+
+        MenuSnapshot menu = menuCacheService.getSnapshot();
+        List<ProductSalesDTO> topProducts = new ArrayList<>();
+        productTotals.entrySet().stream()
+                .filter(e -> e.getValue()[0] > 0)
+                .sorted(Comparator.comparingLong((Map.Entry<Long, long[]> e) -> e.getValue()[0]).reversed()
+                        .thenComparing(Map.Entry::getKey))
+                .limit(limit)
+                .forEach(e -> {
+                    Product product = menu.getProduct(e.getKey());
+                    topProducts.add(new ProductSalesDTO(e.getKey(), product != null ? product.getName() : null,
+                            e.getValue()[0], fromCents(e.getValue()[1])));
+                });
+
+        List<TableSalesDTO> tables = new ArrayList<>();
+        tableTotals.forEach((tableId, total) -> {
+            if (total.orderCount > 0) {
+                tables.add(new TableSalesDTO(tableId, total.tableNumber, total.orderCount, fromCents(total.cents)));
+            }
+        });
+        tables.sort(Comparator.comparing(TableSalesDTO::getRevenue).reversed());
+
+        return new SalesAnalyticsDTO(
+                now,
+                byDay.get(byDay.size() - 1),
+                (double) recentOrders / THROUGHPUT_WINDOW_MINUTES,
+                byMinute,
+                hours.toBuckets(now),
+                byDay,
+                topProducts,
+                tables);
+    }
+
+    // Değişiklik varsa özet saniyede en fazla bir kez yayınlanır (sipariş başına değil)
+    @Scheduled(fixedDelayString = "${app.analytics.push-interval-ms:1000}")
+    public void publishIfChanged() {
+        synchronized (this) {
+            if (!dirty) {
+                return;
+            }
+            dirty = false;
+        }
+        messagingTemplate.convertAndSend(ANALYTICS_TOPIC, getLive(DEFAULT_TOP_PRODUCTS));
+    }
+
+    // sign: +1 ekle, -1 geri al
+    private void apply(Contribution c, int sign, String tableNumber, LocalDateTime now) {
+        addToRings(c.createdAt, sign * c.cents, sign, now);
+        rollDay(now);
+        if (c.createdAt.toLocalDate().toEpochDay() != currentDay) {
+            return;
+        }
+        for (long[] item : c.items) {
+            long[] total = productTotals.computeIfAbsent(item[0], id -> new long[2]);
+            total[0] += sign * item[1];
+            total[1] += sign * item[2];
+        }
+        if (c.tableId != null) {
+            TableTotal total = tableTotals.computeIfAbsent(c.tableId, id -> new TableTotal(null, 0, 0));
+            if (tableNumber != null) {
+                total.tableNumber = tableNumber;
+            }
+            total.orderCount += sign;
+            total.cents += sign * c.cents;
+        }
+    }
+
+    private void addToRings(LocalDateTime at, long cents, long count, LocalDateTime now) {
+        minutes.add(at, cents, count, now);
+        hours.add(at, cents, count, now);
+        days.add(at, cents, count, now);
+    }
+
+    private void rollDay(LocalDateTime now) {
+        long today = now.toLocalDate().toEpochDay();
+        if (today != currentDay) {
+            currentDay = today;
+            productTotals.clear();
+            tableTotals.clear();
+        }
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount == null ? 0 : amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue();
+    }
+
+    private static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    private enum Granularity {
+        MINUTE, HOUR, DAY;
+
+        long keyOf(LocalDateTime time) {
+            switch (this) {
+                case MINUTE: return time.toEpochSecond(ZoneOffset.UTC) / 60;
+                case HOUR: return time.toEpochSecond(ZoneOffset.UTC) / 3600;
+                default: return time.toLocalDate().toEpochDay();
+            }
+        }
+
+        LocalDateTime startOf(long key) {
+            switch (this) {
+                case MINUTE: return LocalDateTime.ofEpochSecond(key * 60, 0, ZoneOffset.UTC);
+                case HOUR: return LocalDateTime.ofEpochSecond(key * 3600, 0, ZoneOffset.UTC);
+                default: return LocalDate.ofEpochDay(key).atStartOfDay();
+            }
+        }
+    }
+
+    /**
+     * Sabit boyutlu dilim halkası. Her slot hangi dilime ait olduğunu (key) tutar;
+     * pencereden çıkan dilimin slotu yeni dilim geldiğinde sıfırlanıp yeniden kullanılır.
+     */
+    private static final class Ring {
+        private final int size;
+        private final Granularity granularity;
+        private final long[] keys;
+        private final long[] cents;
+        private final long[] counts;
+
+        private Ring(int size, Granularity granularity) {
+            this.size = size;
+            this.granularity = granularity;
+            this.keys = new long[size];
+            this.cents = new long[size];
+            this.counts = new long[size];
+            clear();
+        }
+
+        private void clear() {
+            Arrays.fill(keys, Long.MIN_VALUE);
+            Arrays.fill(cents, 0);
+            Arrays.fill(counts, 0);
+        }
+
+        private void add(LocalDateTime at, long amount, long count, LocalDateTime now) {
+            long key = granularity.keyOf(at);
+            long nowKey = granularity.keyOf(now);
+            if (key > nowKey || key <= nowKey - size) {
+                return;
+            }
+            int slot = (int) Math.floorMod(key, (long) size);
+            if (keys[slot] != key) {
+                // Hiç sayılmamış bir dilimden geri alma yapılmaz
+                if (count < 0) {
+                    return;
+                }
+                keys[slot] = key;
+                cents[slot] = 0;
+                counts[slot] = 0;
+            }
+            cents[slot] += amount;
+            counts[slot] += count;
+        }
+
+        // Pencerenin tamamı eskiden yeniye; boş dilimler sıfır olarak döner
+        private List<SalesBucketDTO> toBuckets(LocalDateTime now) {
+            long nowKey = granularity.keyOf(now);
+            List<SalesBucketDTO> result = new ArrayList<>(size);
+            for (long key = nowKey - size + 1; key <= nowKey; key++) {
+                int slot = (int) Math.floorMod(key, (long) size);
+                long amount = keys[slot] == key ? cents[slot] : 0;
+                long count = keys[slot] == key ? counts[slot] : 0;
+                BigDecimal revenue = fromCents(amount);
+                BigDecimal average = count > 0
+                        ? revenue.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP)
+                        : BigDecimal.ZERO.setScale(2);
+                result.add(new SalesBucketDTO(granularity.startOf(key), revenue, count, average));
+            }
+            return result;
+        }
+    }
+
+    private static final class TableTotal {
+        private String tableNumber;
+        private long orderCount;
+        private long cents;
+
+        private TableTotal(String tableNumber, long orderCount, long cents) {
+            this.tableNumber = tableNumber;
+            this.orderCount = orderCount;
+            this.cents = cents;
+        }
+    }
+
+    // Bir siparişin özetlere katkısı: items satırları [ürün ID, adet, kuruş]
+    private static final class Contribution {
+        private final LocalDateTime createdAt;
+        private final long cents;
+        private final Long tableId;
+        private final List<long[]> items = new ArrayList<>();
+
+        private Contribution(LocalDateTime createdAt, long cents, Long tableId) {
+            this.createdAt = createdAt;
+            this.cents = cents;
+            this.tableId = tableId;
+        }
+    }
+}
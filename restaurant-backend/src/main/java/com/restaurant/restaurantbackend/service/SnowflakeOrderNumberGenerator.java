@@ -0,0 +1,81 @@
+package com.restaurant.restaurantbackend.service;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Snowflake tarzı, kilitsiz ve zamana göre sıralı sipariş numarası üretici.
+ * 63 bitlik kimlik: 41 bit zaman (EPOCH'tan beri ms) | 10 bit düğüm ID | 12 bit sıra.
+ * Her backend örneği farklı bir düğüm ID'si ile çalıştığı sürece örnekler arasında çakışma olmaz,
+ * sipariş başına veritabanına gidilmez. Kimlik Crockford base32 ile baştaki sıfırlar olmadan yazılır (ORD-XXXXXXXXXXXX).
+ * Bu numara benzersiz ve sıralı kayıt anahtarıdır; mutfakta seslenmek için KitchenOrderDTO.getDisplayNumber() kullanılır.
+ */
+public class SnowflakeOrderNumberGenerator implements OrderNumberGenerator {
+
+    public static final int NODE_BITS = 10;
+    public static final int SEQUENCE_BITS = 12;
+    public static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+
+    // 2024-01-01T00:00:00Z: 41 bit zaman ~69 yıl yeter
+    private static final long EPOCH = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    // 0/O, 1/I/L karışmasın diye Crockford alfabesi (U yok)
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final String PREFIX = "ORD-";
+
+    private final long nodeId;
+    private final LongSupplier clock;
+    // (zaman << SEQUENCE_BITS) | sıra: tek AtomicLong üzerinde CAS ile ilerler
+    private final AtomicLong state = new AtomicLong();
+
+    public SnowflakeOrderNumberGenerator(long nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    public SnowflakeOrderNumberGenerator(long nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Düğüm ID 0-" + MAX_NODE_ID + " arasında olmalı: " + nodeId);
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+    }
+
+    @Override
+    public String next() {
+        return PREFIX + encode(nextId());
+    }
+
+    /**
+     * Sıradaki 63 bitlik kimlik. Aynı ms'de sıra 4096'yı aşarsa veya saat geri giderse
+     * zaman alanı bir sonraki ms'ye taşınır; değerler her zaman artar.
+     */
+    public long nextId() {
+        long now = (clock.getAsLong() - EPOCH) << SEQUENCE_BITS;
+        long current;
+        long next;
+        do {
+            current = state.get();
+            next = Math.max(current + 1, now);
+        } while (!state.compareAndSet(current, next));
+
+        long timestamp = next >>> SEQUENCE_BITS;
+        long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+        return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+    }
+
+    public long getNodeId() {
+        return nodeId;
+    }
+
+    static String encode(long id) {
+        // Baştaki sıfırlar yazılmaz: 2032'ye kadar 12, sonra 13 karakter. Aynı uzunluktaki numaralarda
+        // metin sıralaması zamana göredir; uzunluk değiştiğinde (2032) kısa olanlar daha eskidir.
+        char[] chars = new char[13];
+        int start = chars.length;
+        do {
+            chars[--start] = ALPHABET[(int) (id & 31)];
+            id >>>= 5;
+        } while (id != 0);
+        return new String(chars, start, chars.length - start);
+    }
+}
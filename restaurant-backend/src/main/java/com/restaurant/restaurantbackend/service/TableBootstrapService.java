@@ -0,0 +1,51 @@
+package com.restaurant.restaurantbackend.service;
+
+import com.restaurant.restaurantbackend.dto.KitchenOrderDTO;
+import com.restaurant.restaurantbackend.dto.TableBootstrapDTO;
+import com.restaurant.restaurantbackend.model.Category;
+import com.restaurant.restaurantbackend.model.RestaurantTable;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * QR menü sayfası için masa, menü ve açık siparişleri tek seferde toplar.
+ * Menü bellekteki snapshot'tan, açık siparişler mutfak panosu projeksiyonundan gelir;
+ * veritabanına sadece masa için gidilir.
+ */
+@Service
+public class TableBootstrapService {
+
+    private final RestaurantTableService tableService;
+    private final MenuCacheService menuCacheService;
+    private final KitchenBoardService kitchenBoardService;
+
+    public TableBootstrapService(RestaurantTableService tableService,
+                                 MenuCacheService menuCacheService,
+                                 KitchenBoardService kitchenBoardService) {
+        this.tableService = tableService;
+        this.menuCacheService = menuCacheService;
+        this.kitchenBoardService = kitchenBoardService;
+    }
+
+    public Optional<TableBootstrapDTO> getBootstrap(@NonNull Long tableId) {
+        Optional<RestaurantTable> table = tableService.getTableById(tableId);
+        if (table.isEmpty()) {
+            return Optional.empty();
+        }
+
+        MenuSnapshot menu = menuCacheService.getSnapshot();
+        List<Category> activeCategories = menu.getCategories().stream()
+                .filter(Category::isActive)
+                .sorted(Comparator.comparing(Category::getDisplayOrder, Comparator.nullsLast(Comparator.naturalOrder())))
+                .collect(Collectors.toList());
+        List<KitchenOrderDTO> openOrders = kitchenBoardService.getActiveOrdersByTableId(tableId);
+
+        return Optional.of(new TableBootstrapDTO(table.get(), activeCategories, menu.getProducts(),
+                openOrders, ContentVersion.getBootId(), menu.getVersion()));
+    }
+}
@@ -5,7 +5,6 @@ import com.restaurant.restaurantbackend.model.RestaurantTable;
 import com.restaurant.restaurantbackend.model.TableRequest;
 import com.restaurant.restaurantbackend.repository.RestaurantTableRepository;
 import com.restaurant.restaurantbackend.repository.TableRequestRepository;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.lang.NonNull;
@@ -19,14 +18,14 @@ public class TableRequestService {
 
     private final TableRequestRepository tableRequestRepository;
     private final RestaurantTableRepository restaurantTableRepository;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final NotificationOutboxService notificationOutbox;
 
     public TableRequestService(TableRequestRepository tableRequestRepository,
                               RestaurantTableRepository restaurantTableRepository,
-                              SimpMessagingTemplate messagingTemplate) {
+                              NotificationOutboxService notificationOutbox) {
         this.tableRequestRepository = tableRequestRepository;
         this.restaurantTableRepository = restaurantTableRepository;
-        this.messagingTemplate = messagingTemplate;
+        this.notificationOutbox = notificationOutbox;
     }
 
     @Transactional
@@ -92,11 +91,13 @@ public class TableRequestService {
                 request.getCreatedAt()
         );
         
-        // Mutfak ekranına bildirim gönder
-        messagingTemplate.convertAndSend("/topic/kitchen", notification);
+        // Salon ekranlarına (garsonlar) ve toplu mutfak/yönetici topic'ine aynı gövde; istasyon ekranları almaz.
+        // Transaction commit edilince outbox'tan gönderilir
+        notificationOutbox.enqueue(List.of(NotificationTopics.FLOOR, NotificationTopics.KITCHEN),
+                notificationOutbox.encode(notification), null);
         
         // Debug: Bildirimin gönderildiğini logla
-        System.out.println("🔔 Mutfak ekranına bildirim gönderildi: " + notification.getRequestType() + " - " + notification.getNotificationMessage());
+        System.out.println("🔔 Salon bildirimi kuyruğa alındı: " + notification.getRequestType() + " - " + notification.getNotificationMessage());
     }
 
     private String buildNotificationMessage(TableRequest request) {
@@ -0,0 +1,61 @@
+package com.restaurant.restaurantbackend.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Türkçe metinleri arama/eşleştirme için normalize eden yardımcı sınıf.
+ * Türkçe kurallarıyla küçük harfe çevirir (İ → i, I → ı) ve ardından
+ * aksanlı harfleri sadeleştirir (ı → i, ş → s, ğ → g, ç → c, ö → o, ü → u).
+ * Böylece "SÜTLAÇ", "sutlac" ve "Sütlaç" aynı şekilde eşleşir.
+ */
+public final class TurkishText {
+
+    private static final Locale TURKISH = Locale.forLanguageTag("tr-TR");
+
+    private TurkishText() {
+    }
+
+    public static String fold(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String lower = text.toLowerCase(TURKISH);
+        StringBuilder folded = new StringBuilder(lower.length());
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            switch (c) {
+                case 'ı', 'î', 'ï' -> folded.append('i');
+                case 'ş' -> folded.append('s');
+                case 'ğ' -> folded.append('g');
+                case 'ç' -> folded.append('c');
+                case 'ö' -> folded.append('o');
+                case 'ü', 'û' -> folded.append('u');
+                case 'â' -> folded.append('a');
+                case '\u0307' -> { } // "İ".toLowerCase() bazı ortamlarda i + birleşik nokta üretir
+                default -> folded.append(c);
+            }
+        }
+        return folded.toString();
+    }
+
+    /**
+     * Metni normalize edip harf/rakam dışındaki karakterlerden böler
+     */
+    public static List<String> tokenize(String text) {
+        String folded = fold(text);
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean letter = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                tokens.add(folded.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,23 @@
+package com.restaurant.restaurantbackend.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProductControllerTest {
+
+    @Test
+    void acceptsGzipHonoursQValues() {
+        assertTrue(ProductController.acceptsGzip("gzip, deflate, br"));
+        assertTrue(ProductController.acceptsGzip("deflate;q=1.0, GZIP;q=0.5"));
+        assertTrue(ProductController.acceptsGzip("*"));
+        assertFalse(ProductController.acceptsGzip(null));
+        assertFalse(ProductController.acceptsGzip("identity"));
+        assertFalse(ProductController.acceptsGzip("gzip;q=0"));
+        assertFalse(ProductController.acceptsGzip("gzip; q=0.000, identity"));
+        // Açıkça reddedilen gzip'i joker karakter geri açmaz
+        assertFalse(ProductController.acceptsGzip("*;q=1, gzip;q=0"));
+        assertFalse(ProductController.acceptsGzip("*;q=0"));
+    }
+}
@@ -0,0 +1,33 @@
+package com.restaurant.restaurantbackend.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Chatbot mesajlarındaki alerjen adları tam kelime veya bilinen eklerle eşleşmeli; benzer başlayan
+ * kelimeler ("söyle" → soyle) alerjen sayılmamalı.
+ */
+class AllergenTest {
+
+    @Test
+    void doesNotTreatUnrelatedWordsAsAllergens() {
+        assertEquals(Allergen.LAKTOZ.bit(), Allergen.mentionedIn("Süt alerjim var, ne yiyebilirim söyle"));
+        assertEquals(0L, Allergen.mentionedIn("Bugün ne yiyebilirim söyle"));
+        assertEquals(0L, Allergen.mentionedIn("Sütlaç var mı?"));
+    }
+
+    @Test
+    void matchesAllergenNamesWithSuffixes() {
+        assertEquals(Allergen.LAKTOZ.bit() | Allergen.GLUTEN.bit(), Allergen.mentionedIn("Sütsüz ve glutensiz tatlı"));
+        assertEquals(Allergen.KURUYEMIS.bit(), Allergen.mentionedIn("Cevizli bir şey olmasın"));
+        assertEquals(Allergen.YUMURTA.bit(), Allergen.mentionedIn("no eggs please"));
+        assertEquals(Allergen.SOYA.bit(), Allergen.mentionedIn("Soya sosu kullanıyor musunuz"));
+    }
+
+    @Test
+    void matchesMultiWordNames() {
+        assertEquals(Allergen.FISTIK.bit(), Allergen.mentionedIn("Yer fıstığı alerjim var"));
+        assertEquals(Allergen.KURUYEMIS.bit(), Allergen.mentionedIn("Antep fıstığı yiyemem"));
+    }
+}
@@ -0,0 +1,143 @@
+package com.restaurant.restaurantbackend.repository;
+
+import com.restaurant.restaurantbackend.dto.OrderNotificationDTO;
+import com.restaurant.restaurantbackend.model.Category;
+import com.restaurant.restaurantbackend.model.Order;
+import com.restaurant.restaurantbackend.model.OrderItem;
+import com.restaurant.restaurantbackend.model.Product;
+import com.restaurant.restaurantbackend.model.RestaurantTable;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Sequence ID + JDBC batch: 10 kalemli bir sipariş bir orders INSERT'i ve
+ * tek bir batch'lenmiş order_items INSERT'i ile yazılmalı.
+ * Koşullu durum güncellemesi sadece geçişe izin veren siparişleri değiştirmeli.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class OrderRepositoryTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void insertsTenItemOrderWithOneBatchedItemStatement() {
+        Product product = persistProduct();
+
+        // Pooled optimizer ilk iki çağrıda sequence bloğunu ayırır; ölçüm ondan sonraki siparişte yapılır
+        orderRepository.saveAndFlush(newOrder(product, 1));
+        orderRepository.saveAndFlush(newOrder(product, 1));
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        orderRepository.saveAndFlush(newOrder(product, 10));
+
+        assertEquals(11, statistics.getEntityInsertCount());
+        // orders + order_items: batch olmasaydı her kalem için ayrı ifade hazırlanırdı (11)
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void updatesStatusWhenTransitionIsAllowed() {
+        Order order = persistOrder("PENDING");
+        LocalDateTime before = LocalDateTime.now();
+
+        List<OrderNotificationDTO> updated = orderRepository.updateStatus(
+                List.of(order.getId()), "PREPARING", List.of("PENDING", "READY"));
+
+        assertEquals(1, updated.size());
+        OrderNotificationDTO row = updated.get(0);
+        assertEquals(order.getId(), row.getOrderId());
+        assertEquals("PREPARING", row.getStatus());
+        assertEquals("Masa 7", row.getTableNumber());
+        assertFalse(row.getUpdatedAt().isBefore(before));
+        assertEquals(Optional.of("PREPARING"), orderRepository.findStatusById(order.getId()));
+    }
+
+    @Test
+    void leavesOrderUnchangedWhenTransitionIsRejected() {
+        Order order = persistOrder("DELIVERED");
+
+        List<OrderNotificationDTO> updated = orderRepository.updateStatus(
+                List.of(order.getId()), "PREPARING", List.of("PENDING", "READY"));
+
+        assertTrue(updated.isEmpty());
+        assertEquals(Optional.of("DELIVERED"), orderRepository.findStatusById(order.getId()));
+    }
+
+    @Test
+    void returnsNothingForUnknownOrder() {
+        List<OrderNotificationDTO> updated = orderRepository.updateStatus(
+                List.of(987654L), "PREPARING", List.of("PENDING", "READY"));
+
+        assertTrue(updated.isEmpty());
+        assertEquals(Optional.empty(), orderRepository.findStatusById(987654L));
+    }
+
+    private Order persistOrder(String status) {
+        RestaurantTable table = new RestaurantTable();
+        table.setTableNumber("Masa 7");
+        entityManager.persist(table);
+        Order order = newOrder(persistProduct(), 2);
+        order.setRestaurantTable(table);
+        order.setStatus(status);
+        entityManager.persist(order);
+        entityManager.flush();
+        entityManager.clear();
+        return order;
+    }
+
+    private Product persistProduct() {
+        Category category = new Category();
+        category.setName("Ana Yemekler");
+        entityManager.persist(category);
+        Product product = new Product();
+        product.setName("Köfte");
+        product.setPrice(new BigDecimal("120.00"));
+        product.setCategory(category);
+        entityManager.persist(product);
+        entityManager.flush();
+        return product;
+    }
+
+    private Order newOrder(Product product, int itemCount) {
+        Order order = new Order();
+        order.setStatus("PENDING");
+        List<OrderItem> items = new ArrayList<>();
+        for (int i = 0; i < itemCount; i++) {
+            OrderItem item = new OrderItem();
+            item.setOrder(order);
+            item.setProduct(product);
+            item.setQuantity(1);
+            item.setUnitPrice(product.getPrice());
+            item.setSubtotal(product.getPrice());
+            items.add(item);
+        }
+        order.setOrderItems(items);
+        order.setTotalAmount(product.getPrice().multiply(BigDecimal.valueOf(itemCount)));
+        return order;
+    }
+}
@@ -0,0 +1,53 @@
+package com.restaurant.restaurantbackend.repository;
+
+import com.restaurant.restaurantbackend.model.OutboxNotification;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Gruplar arası birleştirme: yeniden denenen eski bildirim, aynı hedef + anahtar için
+ * daha yeni bekleyen veya gönderilmiş bir kayıt varsa gönderilmemeli.
+ */
+@DataJpaTest
+class OutboxNotificationRepositoryTest {
+
+    private static final String TOPIC = "/topic/table/5";
+
+    @Autowired
+    private OutboxNotificationRepository outboxRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void findsRowsSupersededByNewerSentOrPendingRows() {
+        OutboxNotification retriedBeforeSent = persist(TOPIC, "order:1", OutboxNotification.STATUS_PENDING);
+        persist(TOPIC, "order:1", OutboxNotification.STATUS_SENT);
+        OutboxNotification olderPending = persist(TOPIC, "order:2", OutboxNotification.STATUS_PENDING);
+        persist(TOPIC, "order:2", OutboxNotification.STATUS_PENDING);
+        OutboxNotification latest = persist(TOPIC, "order:3", OutboxNotification.STATUS_PENDING);
+        OutboxNotification newerFailed = persist(TOPIC, "order:4", OutboxNotification.STATUS_PENDING);
+        persist(TOPIC, "order:4", OutboxNotification.STATUS_FAILED);
+        OutboxNotification otherTopic = persist("/topic/kitchen", "order:1", OutboxNotification.STATUS_PENDING);
+        entityManager.flush();
+
+        List<Long> superseded = outboxRepository.findSupersededIds(List.of(
+                retriedBeforeSent.getId(), olderPending.getId(), latest.getId(),
+                newerFailed.getId(), otherTopic.getId()));
+
+        assertEquals(List.of(retriedBeforeSent.getId(), olderPending.getId()), superseded.stream().sorted().toList());
+    }
+
+    private OutboxNotification persist(String destination, String coalesceKey, String status) {
+        OutboxNotification notification = new OutboxNotification(destination, coalesceKey, "{}", LocalDateTime.now());
+        notification.setStatus(status);
+        return entityManager.persist(notification);
+    }
+}
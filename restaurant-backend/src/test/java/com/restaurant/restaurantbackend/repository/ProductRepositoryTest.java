@@ -0,0 +1,71 @@
+package com.restaurant.restaurantbackend.repository;
+
+import com.restaurant.restaurantbackend.model.Category;
+import com.restaurant.restaurantbackend.model.Product;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * findAllForMenu() ürün sayısından bağımsız olarak tek SQL ifadesiyle çalışmalı (N+1 yok).
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ProductRepositoryTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void loadsMenuWithSingleStatementForOneProduct() {
+        assertEquals(1, statementsToLoadMenu(1));
+    }
+
+    @Test
+    void loadsMenuWithSingleStatementForManyProducts() {
+        assertEquals(1, statementsToLoadMenu(40));
+    }
+
+    private long statementsToLoadMenu(int productCount) {
+        Category category = new Category();
+        category.setName("Tatlılar");
+        entityManager.persist(category);
+        for (int i = 0; i < productCount; i++) {
+            Product product = new Product();
+            product.setName("Ürün " + i);
+            product.setPrice(new BigDecimal("10.00"));
+            product.setCategory(category);
+            product.setAllergens(new ArrayList<>(List.of("GLUTEN", "LAKTOZ")));
+            entityManager.persist(product);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<Product> products = productRepository.findAllForMenu();
+        assertEquals(productCount, products.size());
+        for (Product product : products) {
+            // İlişkiler yüklenmiş olmalı: erişim yeni sorgu üretmez
+            assertEquals("Tatlılar", product.getCategory().getName());
+            assertEquals(2, product.getAllergens().size());
+        }
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,72 @@
+package com.restaurant.restaurantbackend.service;
+
+import com.restaurant.restaurantbackend.dto.KitchenOrderDTO;
+import com.restaurant.restaurantbackend.event.OrderChangedEvent;
+import com.restaurant.restaurantbackend.event.OrderStatusChangedEvent;
+import com.restaurant.restaurantbackend.model.Order;
+import com.restaurant.restaurantbackend.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Commit sonrası dinleyiciler farklı thread'lerde çalışır: aynı siparişin durum değişiklikleri
+ * panoya ters sırada gelse de pano en son değişikliği göstermeli.
+ */
+class KitchenBoardServiceTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2026, 10, 18, 12, 0);
+
+    private KitchenBoardService board;
+
+    @BeforeEach
+    void setUp() {
+        board = new KitchenBoardService(mock(OrderRepository.class), mock(MenuCacheService.class));
+        Order order = new Order();
+        order.setId(1L);
+        order.setStatus("PENDING");
+        order.setCreatedAt(CREATED_AT);
+        order.setUpdatedAt(CREATED_AT);
+        board.onOrderChanged(new OrderChangedEvent(order));
+    }
+
+    @Test
+    void ignoresOlderStatusChangeArrivingAfterNewerOne() {
+        board.onOrderStatusChanged(new OrderStatusChangedEvent(1L, "READY", CREATED_AT.plusSeconds(20)));
+        board.onOrderStatusChanged(new OrderStatusChangedEvent(1L, "PREPARING", CREATED_AT.plusSeconds(10)));
+
+        KitchenOrderDTO order = onlyOrder();
+        assertEquals("READY", order.getStatus());
+        assertEquals(CREATED_AT.plusSeconds(20), order.getUpdatedAt());
+        assertEquals(1, board.getBoard("READY", null).getOrders().size());
+        assertTrue(board.getBoard("PREPARING", null).getOrders().isEmpty());
+    }
+
+    @Test
+    void appliesStatusChangesArrivingInOrder() {
+        board.onOrderStatusChanged(new OrderStatusChangedEvent(1L, "PREPARING", CREATED_AT.plusSeconds(10)));
+        board.onOrderStatusChanged(new OrderStatusChangedEvent(1L, "READY", CREATED_AT.plusSeconds(20)));
+
+        assertEquals("READY", onlyOrder().getStatus());
+    }
+
+    @Test
+    void keepsOrderOffBoardWhenOlderChangeArrivesAfterTerminalOne() {
+        board.onOrderStatusChanged(new OrderStatusChangedEvent(1L, "DELIVERED", CREATED_AT.plusSeconds(20)));
+        board.onOrderStatusChanged(new OrderStatusChangedEvent(1L, "READY", CREATED_AT.plusSeconds(10)));
+
+        assertTrue(board.getBoard(null, null).getOrders().isEmpty());
+    }
+
+    private KitchenOrderDTO onlyOrder() {
+        List<KitchenOrderDTO> orders = board.getBoard(null, null).getOrders();
+        assertEquals(1, orders.size());
+        return orders.get(0);
+    }
+}
@@ -0,0 +1,116 @@
+package com.restaurant.restaurantbackend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.restaurant.restaurantbackend.dto.KitchenOrderDTO;
+import com.restaurant.restaurantbackend.dto.KitchenOrderItemDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bir sipariş bildiriminin birden fazla hedefe gönderilmesi:
+ * hedef başına convertAndSend(dto) (her seferinde Jackson) ile tek NotificationFrame'in paylaşılması.
+ * Ölçüm broker kanalına kadardır; oturum başına STOMP/SockJS kodlaması iki yolda da aynıdır.
+ *
+ * Çalıştırmak için: mvn test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.restaurant.restaurantbackend.service.NotificationFanOutBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NotificationFanOutBenchmark {
+
+    // Mutfak + masa, istasyonlara bölünmüş sipariş için birkaç istasyon topic'i daha
+    @Param({"2", "5"})
+    private int destinationCount;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private List<String> destinations;
+    private KitchenOrderDTO order;
+    private SimpMessagingTemplate messagingTemplate;
+    // Kanala giden son mesaj: JIT gönderimi ölü kod sayıp atmasın
+    private volatile Message<?> lastMessage;
+
+    @Setup
+    public void setUp() {
+        destinations = new ArrayList<>();
+        destinations.add(NotificationTopics.KITCHEN);
+        destinations.add(NotificationTopics.table(12L));
+        for (int i = 2; i < destinationCount; i++) {
+            destinations.add(NotificationTopics.station((long) i));
+        }
+
+        List<KitchenOrderItemDTO> items = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            items.add(new KitchenOrderItemDTO((long) i, "Ürün " + i, (long) (i % 3), 1 + i % 2, i % 4 == 0 ? "Az pişmiş" : null));
+        }
+        LocalDateTime now = LocalDateTime.now();
+        order = new KitchenOrderDTO(4242L, "ORD-0ABCDEFGHJKMN", "PENDING", 12L, "Masa 12", "Acele", now, now, items);
+
+        messagingTemplate = new SimpMessagingTemplate((message, timeout) -> {
+            lastMessage = message;
+            return true;
+        });
+        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+        converter.setObjectMapper(objectMapper);
+        messagingTemplate.setMessageConverter(converter);
+    }
+
+    @Benchmark
+    public Message<?> convertAndSendPerDestination() {
+        for (String destination : destinations) {
+            messagingTemplate.convertAndSend(destination, order);
+        }
+        return lastMessage;
+    }
+
+    @Benchmark
+    public Message<?> sharedFrame() throws Exception {
+        NotificationFrame frame = NotificationFrame.of(objectMapper.writeValueAsString(order));
+        for (String destination : destinations) {
+            // NotificationOutboxService.send ile aynı mesaj kurulumu (tekrar oynatma geçmişi hariç)
+            SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+            accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+            accessor.setLeaveMutable(true);
+            messagingTemplate.send(destination, MessageBuilder.createMessage(frame.getBytes(), accessor.getMessageHeaders()));
+        }
+        return lastMessage;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(NotificationFanOutBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,101 @@
+package com.restaurant.restaurantbackend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Eşzamanlı üretimde numaralar benzersiz ve her thread için artan sırada olmalı.
+ * Üretim hızı testlerde değil, OrderNumberGeneratorBenchmark ile ölçülür.
+ */
+class SnowflakeOrderNumberGeneratorTest {
+
+    private static final int THREADS = 8;
+    private static final int PER_THREAD = 50_000;
+
+    @Test
+    void generatesUniqueMonotonicNumbersUnderContention() throws Exception {
+        SnowflakeOrderNumberGenerator generator = new SnowflakeOrderNumberGenerator(7);
+        List<List<String>> results = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+
+        for (int t = 0; t < THREADS; t++) {
+            List<String> numbers = new ArrayList<>(PER_THREAD);
+            results.add(numbers);
+            threads.add(new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < PER_THREAD; i++) {
+                    numbers.add(generator.next());
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Set<String> unique = new HashSet<>();
+        for (List<String> numbers : results) {
+            assertEquals(PER_THREAD, numbers.size());
+            for (int i = 1; i < numbers.size(); i++) {
+                // Aynı uzunluktaki numaralarda metin sıralaması üretim sırasıyla aynı olmalı
+                assertTrue(numbers.get(i - 1).compareTo(numbers.get(i)) < 0,
+                        "Sıra bozuldu: " + numbers.get(i - 1) + " >= " + numbers.get(i));
+            }
+            unique.addAll(numbers);
+        }
+        int total = THREADS * PER_THREAD;
+        assertEquals(total, unique.size(), "Çakışan sipariş numarası üretildi");
+    }
+
+    @Test
+    void writesNumbersWithoutLeadingZeros() {
+        // 2026 civarı bir zaman: 12 karakter, baştaki sabit '0' yok
+        SnowflakeOrderNumberGenerator generator = new SnowflakeOrderNumberGenerator(3, () -> 1_792_000_000_000L);
+
+        String number = generator.next();
+
+        assertTrue(number.matches("ORD-[1-9A-Z][0-9A-Z]{11}"), number);
+        assertEquals("1", SnowflakeOrderNumberGenerator.encode(1));
+        assertEquals("0", SnowflakeOrderNumberGenerator.encode(0));
+        assertEquals("7ZZZZZZZZZZZZ", SnowflakeOrderNumberGenerator.encode(Long.MAX_VALUE));
+    }
+
+    @Test
+    void keepsIncreasingWhenClockMovesBackwards() {
+        long[] now = {1_800_000_000_000L};
+        SnowflakeOrderNumberGenerator generator = new SnowflakeOrderNumberGenerator(1, () -> now[0]);
+
+        long first = generator.nextId();
+        now[0] -= 5_000;
+        long second = generator.nextId();
+
+        assertTrue(second > first);
+    }
+
+    @Test
+    void rollsOverToNextMillisecondWhenSequenceIsExhausted() {
+        SnowflakeOrderNumberGenerator generator = new SnowflakeOrderNumberGenerator(1, () -> 1_800_000_000_000L);
+
+        long previous = generator.nextId();
+        for (int i = 0; i < (1 << SnowflakeOrderNumberGenerator.SEQUENCE_BITS) + 10; i++) {
+            long next = generator.nextId();
+            assertTrue(next > previous);
+            previous = next;
+        }
+    }
+}
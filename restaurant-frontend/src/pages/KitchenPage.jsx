@@ -1,8 +1,10 @@
 import React, { useEffect, useState } from 'react'
+import { useSearchParams } from 'react-router-dom'
 import SockJS from 'sockjs-client'
 import { Client } from '@stomp/stompjs'
 import { toast } from 'react-toastify'
 import axios from 'axios'
+import { createTopicCursor } from '../services/topicCursor'
 import './KitchenPage.css'
 
 const API_BASE_URL = 'http://localhost:8080/api'
@@ -13,12 +15,80 @@ function KitchenPage() {
   const [loading, setLoading] = useState(true)
   const [selectedOrder, setSelectedOrder] = useState(null)
   const [notifications, setNotifications] = useState([])
+  const [categories, setCategories] = useState([])
+  // ?station=<kategoriId>: istasyon ekranı sadece kendi kategorisinin siparişlerini alır
+  const [searchParams, setSearchParams] = useSearchParams()
+  const station = searchParams.get('station')
 
   // WebSocket bağlantısı kur
   useEffect(() => {
-    const socket = new SockJS('http://localhost:8080/ws')
+    // Mutfak bildirimini işle (canlı veya yeniden bağlantıda tekrar oynatılan)
+    const handleNotification = (notification) => {
+      // Yeni bildirim alındı - Debug için
+      console.log('🔔 Mutfak ekranına bildirim geldi:', notification)
+      
+      // Sipariş bildirimi mi yoksa istek bildirimi mi?
+      if (Array.isArray(notification.items)) {
+        // İstasyon topic'i: yeni siparişin bu istasyona düşen kalemleri
+        toast.info(`Yeni sipariş: ${notification.displayNumber || notification.orderNumber || `#${notification.id}`} (${notification.items.length} kalem)`, {
+          position: 'top-right',
+          autoClose: 3000
+        })
+        loadOrders()
+      } else if (Array.isArray(notification.orders)) {
+        // Toplu durum güncellemesi: tek mesajda birden fazla sipariş
+        toast.info(notification.message || 'Siparişler güncellendi', {
+          position: 'top-right',
+          autoClose: 3000
+        })
+        loadOrders()
+      } else if (notification.orderId !== undefined && notification.orderId !== null) {
+        // Sipariş bildirimi
+        toast.info(notification.message || 'Yeni sipariş geldi!', {
+          position: 'top-right',
+          autoClose: 3000
+        })
+        loadOrders()
+      } else if (notification.requestId !== undefined && notification.requestId !== null) {
+        // İstek/Şikayet bildirimi
+        const messageText = notification.notificationMessage || notification.message || 'Yeni istek/şikayet geldi!'
+        
+        // Bildirimi listeye ekle
+        const newNotification = {
+          id: Date.now(),
+          requestId: notification.requestId,
+          tableId: notification.tableId,
+          tableNumber: notification.tableNumber,
+          requestType: notification.requestType,
+          message: messageText,
+          createdAt: new Date()
+        }
+        setNotifications(prev => [newNotification, ...prev])
+        
+        // Toast bildirimi göster
+        toast.warning(messageText, {
+          position: 'top-right',
+          autoClose: 5000,
+          icon: '🔔'
+        })
+        // İstek/Şikayet bildirimi gösterildi
+      } else {
+        // Bilinmeyen bildirim formatı
+        console.warn('⚠️ Bilinmeyen bildirim formatı:', notification)
+        toast.info('Yeni bildirim geldi', {
+          position: 'top-right',
+          autoClose: 3000
+        })
+      }
+    }
+    // Bağlantı koptuğunda kaçırılan bildirimler seq ile geri alınır; geçmiş yetmezse pano yeniden yüklenir
+    const topic = station ? `/topic/kitchen/station/${station}` : '/topic/kitchen'
+    const cursor = createTopicCursor(topic, handleNotification, () => loadOrders())
+    let subscribedBefore = false
+
     const client = new Client({
-      webSocketFactory: () => socket,
+      // Her yeniden bağlantıda yeni soket: kapanmış SockJS örneği tekrar açılamaz
+      webSocketFactory: () => new SockJS('http://localhost:8080/ws'),
       reconnectDelay: 5000,
       heartbeatIncoming: 4000,
       heartbeatOutgoing: 4000,
@@ -26,58 +96,21 @@ function KitchenPage() {
         // WebSocket bağlantısı kuruldu
         toast.success('Mutfak ekranı bağlandı', { autoClose: 2000 })
         
-        // Mutfak ekranına bildirimler için abone ol
-        client.subscribe('/topic/kitchen', (message) => {
+        // Mutfak ekranına (veya seçili istasyona) bildirimler için abone ol
+        client.subscribe(topic, (message) => {
           try {
-            const notification = JSON.parse(message.body)
-            // Yeni bildirim alındı - Debug için
-            console.log('🔔 Mutfak ekranına bildirim geldi:', notification)
-            
-            // Sipariş bildirimi mi yoksa istek bildirimi mi?
-            if (notification.orderId !== undefined && notification.orderId !== null) {
-              // Sipariş bildirimi
-              toast.info(notification.message || 'Yeni sipariş geldi!', {
-                position: 'top-right',
-                autoClose: 3000
-              })
-              loadOrders()
-            } else if (notification.requestId !== undefined && notification.requestId !== null) {
-              // İstek/Şikayet bildirimi
-              const messageText = notification.notificationMessage || notification.message || 'Yeni istek/şikayet geldi!'
-              
-              // Bildirimi listeye ekle
-              const newNotification = {
-                id: Date.now(),
-                requestId: notification.requestId,
-                tableId: notification.tableId,
-                tableNumber: notification.tableNumber,
-                requestType: notification.requestType,
-                message: messageText,
-                createdAt: new Date()
-              }
-              setNotifications(prev => [newNotification, ...prev])
-              
-              // Toast bildirimi göster
-              toast.warning(messageText, {
-                position: 'top-right',
-                autoClose: 5000,
-                icon: '🔔'
-              })
-              // İstek/Şikayet bildirimi gösterildi
-            } else {
-              // Bilinmeyen bildirim formatı
-              console.warn('⚠️ Bilinmeyen bildirim formatı:', notification)
-              toast.info('Yeni bildirim geldi', {
-                position: 'top-right',
-                autoClose: 3000
-              })
-            }
+            cursor.handleMessage(message)
           } catch (error) {
             // Bildirim parse hatası
             console.error('❌ Bildirim parse hatası:', error, message.body)
             toast.error('Bildirim işlenirken hata oluştu')
           }
         })
+        if (subscribedBefore) {
+          // Yeniden bağlantı: kopukken gönderilenleri iste
+          cursor.resume()
+        }
+        subscribedBefore = true
       },
       onStompError: (frame) => {
         // WebSocket hatası
@@ -94,18 +127,35 @@ function KitchenPage() {
         client.deactivate()
       }
     }
-  }, [])
+    // eslint-disable-next-line react-hooks/exhaustive-deps
+  }, [station])
 
   // Siparişleri yükle
   useEffect(() => {
     loadOrders()
+    // eslint-disable-next-line react-hooks/exhaustive-deps
+  }, [station])
+
+  // İstasyon seçimi için kategoriler
+  useEffect(() => {
+    axios.get(`${API_BASE_URL}/categories`)
+      .then(response => setCategories(response.data || []))
+      .catch(() => setCategories([]))
   }, [])
 
+  const changeStation = (value) => {
+    setSearchParams(value ? { station: value } : {})
+  }
+
   const loadOrders = async () => {
     try {
       setLoading(true)
-      const response = await axios.get(`${API_BASE_URL}/orders`)
-      setOrders(response.data || [])
+      // Sadece aktif siparişler: sunucudaki mutfak panosu projeksiyonundan
+      // (istasyon seçiliyse sadece o kategorinin kalemleri)
+      const response = await axios.get(`${API_BASE_URL}/kitchen/board`, {
+        params: { categoryId: station || undefined }
+      })
+      setOrders(response.data?.orders || [])
     } catch (error) {
       // Siparişler yükleme hatası toast ile gösteriliyor
       toast.error('Siparişler yüklenemedi')
@@ -214,6 +264,16 @@ function KitchenPage() {
       <header className="kitchen-header">
         <h1>🍳 Mutfak Ekranı</h1>
         <div className="header-right">
+          <select
+            className="station-select"
+            value={station || ''}
+            onChange={(e) => changeStation(e.target.value)}
+          >
+            <option value="">Tüm istasyonlar</option>
+            {categories.map(category => (
+              <option key={category.id} value={category.id}>{category.name}</option>
+            ))}
+          </select>
           {notifications.length > 0 && (
             <div className="notifications-badge">
               🔔 {notifications.length}
@@ -289,8 +349,8 @@ function KitchenPage() {
                 >
                   <div className="order-header">
                     <div className="order-info">
-                      <h3>{order.orderNumber || `Sipariş #${order.id}`}</h3>
-                      <p className="table-info">Masa: {order.restaurantTable?.tableNumber || 'Bilinmiyor'}</p>
+                      <h3 title={order.orderNumber}>{order.displayNumber || order.orderNumber || `Sipariş #${order.id}`}</h3>
+                      <p className="table-info">Masa: {order.tableNumber || 'Bilinmiyor'}</p>
                     </div>
                     <div 
                       className="status-badge"
@@ -305,9 +365,9 @@ function KitchenPage() {
                       ⏰ {formatDate(order.createdAt)}
                     </p>
                     
-                    {order.orderItems && (
+                    {order.items && (
                       <p className="order-items-count">
-                        📦 {order.orderItems.length} ürün
+                        📦 {order.items.length} ürün
                       </p>
                     )}
                   </div>
@@ -1,6 +1,7 @@
 import React, { useState, useEffect, useRef } from 'react'
 import { useSearchParams, useNavigate } from 'react-router-dom'
-import { categoryAPI, productAPI, tableRequestAPI, tableAPI, chatbotAPI, orderAPI } from '../services/api'
+import { bootstrapAPI, categoryAPI, productAPI, menuAPI, tableRequestAPI, tableAPI, chatbotAPI, orderAPI } from '../services/api'
+import websocketService from '../services/websocket'
 import { toast } from 'react-toastify'
 import './MenuPage.css'
 
@@ -83,6 +84,149 @@ function MenuPage() {
     return null
   }
 
+  // Backend'den gelen verileri düzelt (ilk yükleme ve /topic/menu delta'ları için ortak)
+  const isActiveCategory = (c) => c && (c.isActive !== false && c.active !== false)
+
+  const normalizeCategory = (c) => ({
+    id: c.id,
+    name: c.name || 'Kategori',
+    description: c.description || '',
+    displayOrder: c.displayOrder || 0,
+    isActive: c.isActive !== false
+  })
+
+  const byDisplayOrder = (a, b) => (a.displayOrder || 0) - (b.displayOrder || 0)
+
+  // isAvailable veya available kontrolü
+  const isAvailableProduct = (p) => p && p.isAvailable !== false && p.available !== false
+
+  const normalizeProduct = (p) => {
+    // Price'ı düzelt - BigDecimal farklı formatlarda gelebilir
+    let price = 0
+    if (p.price !== null && p.price !== undefined) {
+      if (typeof p.price === 'string') {
+        price = parseFloat(p.price) || 0
+      } else if (typeof p.price === 'number') {
+        price = p.price
+      } else if (typeof p.price === 'object') {
+        // BigDecimal object olabilir
+        price = parseFloat(p.price.toString()) || 0
+      }
+    }
+    
+    // Category bilgisini düzelt
+    let category = null
+    if (p.category) {
+      category = {
+        id: p.category.id || null,
+        name: p.category.name || 'Kategori'
+      }
+    }
+    
+    return {
+      id: p.id,
+      name: p.name || 'İsimsiz Ürün',
+      description: p.description || '',
+      price: price,
+      imageUrl: p.imageUrl || null,
+      category: category,
+      isAvailable: p.isAvailable !== false,
+      available: p.isAvailable !== false,
+      preparationTime: p.preparationTime || null,
+      allergens: p.allergens || [],
+      isVegan: p.isVegan === true,
+      isVegetarian: p.isVegetarian === true
+    }
+  }
+
+  // Listede varsa yerinde değiştir, yoksa sona ekle; keep false ise çıkar
+  const upsertById = (list, item, keep) => {
+    const index = list.findIndex(x => x.id === item.id)
+    if (!keep) {
+      return index === -1 ? list : list.filter(x => x.id !== item.id)
+    }
+    if (index === -1) {
+      return [...list, item]
+    }
+    const next = [...list]
+    next[index] = item
+    return next
+  }
+
+  const applyMenuChanges = (changes) => {
+    changes.forEach(change => {
+      if (change.entity === 'PRODUCT') {
+        const keep = change.type === 'UPSERT' && isAvailableProduct(change.product)
+        setProducts(prev => upsertById(prev, keep ? normalizeProduct(change.product) : { id: change.id }, keep))
+      } else if (change.entity === 'CATEGORY') {
+        const keep = change.type === 'UPSERT' && isActiveCategory(change.category)
+        setCategories(prev => {
+          const next = upsertById(prev, keep ? normalizeCategory(change.category) : { id: change.id }, keep)
+          return keep ? [...next].sort(byDisplayOrder) : next
+        })
+      }
+    })
+  }
+
+  // Yüklü menünün epoch + versiyonu; /topic/menu delta'ları bu noktadan itibaren uygulanır
+  const menuVersionRef = useRef(null)
+
+  const applyMenuDelta = (delta) => {
+    const current = menuVersionRef.current
+    if (!current) {
+      // Menü henüz yüklenmedi: yükleme zaten güncel hali getirecek
+      return
+    }
+    if (delta.epoch !== current.epoch || delta.previousVersion > current.version) {
+      // Arada kaçırılan değişiklik var (veya sunucu yeniden başladı)
+      catchUpMenu()
+      return
+    }
+    if (delta.version <= current.version) {
+      return
+    }
+    applyMenuChanges(delta.changes || [])
+    menuVersionRef.current = { epoch: delta.epoch, version: delta.version }
+  }
+
+  // Bağlantı koptuysa aradaki delta'ları iste; kayıt yetmezse menüyü baştan yükle
+  const catchUpMenu = async () => {
+    const current = menuVersionRef.current
+    if (!current) return
+    try {
+      const { data } = await menuAPI.getChanges(current.version, current.epoch)
+      if (data.resetRequired) {
+        loadData()
+        return
+      }
+      data.deltas.forEach(delta => {
+        if (delta.version > menuVersionRef.current.version) {
+          applyMenuChanges(delta.changes || [])
+          menuVersionRef.current = { epoch: delta.epoch, version: delta.version }
+        }
+      })
+    } catch (error) {
+      // Yakalama başarısız: bir sonraki delta'da tekrar denenir
+    }
+  }
+
+  // Menü değişikliklerini canlı takip et (fiyat, stok, yeni ürün)
+  useEffect(() => {
+    let subscription = null
+    let active = true
+    websocketService.connect().then(() => {
+      if (active) {
+        subscription = websocketService.subscribeToMenu(applyMenuDelta, catchUpMenu)
+      }
+    })
+    return () => {
+      active = false
+      websocketService.unsubscribe(subscription)
+      websocketService.disconnect()
+    }
+    // eslint-disable-next-line react-hooks/exhaustive-deps
+  }, [])
+
   useEffect(() => {
     if (!tableId) {
       toast.error('Masa bilgisi bulunamadı')
@@ -90,11 +234,31 @@ function MenuPage() {
       return
     }
 
-    loadData()
-    loadTable()
+    loadBootstrap()
     // eslint-disable-next-line react-hooks/exhaustive-deps
   }, [tableId])
 
+  // QR ile gelen masa ID'si için masa + menü + menü versiyonu tek istekte.
+  // tableId bir masa numarasıysa (veya istek başarısızsa) ayrı isteklerle yüklenir.
+  const loadBootstrap = async () => {
+    const tableIdNum = parseInt(tableId)
+    if (!isNaN(tableIdNum) && tableIdNum > 0) {
+      try {
+        setLoading(true)
+        const { data } = await bootstrapAPI.getForTable(tableIdNum)
+        setTable(data.table)
+        applyMenu(data.categories || [], data.products || [])
+        menuVersionRef.current = { epoch: data.menuEpoch, version: data.menuVersion }
+        setLoading(false)
+        return
+      } catch (error) {
+        // ID ile bulunamadı: masa numarası olabilir, ayrı isteklerle dene
+      }
+    }
+    loadData()
+    loadTable()
+  }
+
   const loadTable = async () => {
     try {
       // Önce ID olarak dene
@@ -152,72 +316,32 @@ function MenuPage() {
   const loadData = async () => {
     try {
       setLoading(true)
+      // Versiyon menüden önce alınır: arada gelen değişiklikler delta olarak tekrar uygulanır
+      const versionRes = await menuAPI.getVersion()
       const [categoriesRes, productsRes] = await Promise.all([
         categoryAPI.getAll(),
         productAPI.getAll()
       ])
-      
-      
-      // Backend'den gelen verileri düzelt
-      const categoriesData = categoriesRes.data || []
-      const productsData = productsRes.data || []
-      
+      applyMenu(categoriesRes.data || [], productsRes.data || [])
+      menuVersionRef.current = { epoch: versionRes.data.epoch, version: versionRes.data.currentVersion }
+    } catch (error) {
+      toast.error('Menü yüklenirken hata oluştu: ' + (error.message || 'Bilinmeyen hata'))
+      // Hata detayları toast ile gösteriliyor
+    } finally {
+      setLoading(false)
+    }
+  }
+
+  // Backend'den gelen kategori ve ürünleri düzeltip menüyü kur
+  const applyMenu = (categoriesData, productsData) => {
       const categories = categoriesData
-        .filter(c => c && (c.isActive !== false && c.active !== false))
-        .map(c => ({
-          id: c.id,
-          name: c.name || 'Kategori',
-          description: c.description || '',
-          displayOrder: c.displayOrder || 0,
-          isActive: c.isActive !== false
-        }))
-        .sort((a, b) => (a.displayOrder || 0) - (b.displayOrder || 0))
+        .filter(isActiveCategory)
+        .map(normalizeCategory)
+        .sort(byDisplayOrder)
       
       const products = productsData
-        .filter(p => {
-          if (!p) return false
-          // isAvailable veya available kontrolü
-          const available = p.isAvailable !== false && p.available !== false
-          return available
-        })
-        .map(p => {
-          // Price'ı düzelt - BigDecimal farklı formatlarda gelebilir
-          let price = 0
-          if (p.price !== null && p.price !== undefined) {
-            if (typeof p.price === 'string') {
-              price = parseFloat(p.price) || 0
-            } else if (typeof p.price === 'number') {
-              price = p.price
-            } else if (typeof p.price === 'object') {
-              // BigDecimal object olabilir
-              price = parseFloat(p.price.toString()) || 0
-            }
-          }
-          
-          // Category bilgisini düzelt
-          let category = null
-          if (p.category) {
-            category = {
-              id: p.category.id || null,
-              name: p.category.name || 'Kategori'
-            }
-          }
-          
-          return {
-            id: p.id,
-            name: p.name || 'İsimsiz Ürün',
-            description: p.description || '',
-            price: price,
-            imageUrl: p.imageUrl || null,
-            category: category,
-            isAvailable: p.isAvailable !== false,
-            available: p.isAvailable !== false,
-            preparationTime: p.preparationTime || null,
-            allergens: p.allergens || [],
-            isVegan: p.isVegan === true,
-            isVegetarian: p.isVegetarian === true
-          }
-        })
+        .filter(isAvailableProduct)
+        .map(normalizeProduct)
       
       
       setCategories(categories)
@@ -226,12 +350,6 @@ function MenuPage() {
       if (categories.length > 0) {
         setSelectedCategory(categories[0].id)
       }
-    } catch (error) {
-      toast.error('Menü yüklenirken hata oluştu: ' + (error.message || 'Bilinmeyen hata'))
-      // Hata detayları toast ile gösteriliyor
-    } finally {
-      setLoading(false)
-    }
   }
 
   // --- Yardımcılar ---
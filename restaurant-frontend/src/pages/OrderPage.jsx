@@ -1,7 +1,7 @@
-import React, { useState, useEffect } from 'react'
+import React, { useState, useEffect, useRef } from 'react'
 import { useSearchParams, useNavigate } from 'react-router-dom'
 import { useLocation } from 'react-router-dom'
-import { orderAPI, tableAPI } from '../services/api'
+import { orderAPI, tableAPI, newIdempotencyKey } from '../services/api'
 import { toast } from 'react-toastify'
 import './OrderPage.css'
 
@@ -18,6 +18,8 @@ function OrderPage() {
   const [paymentMethod, setPaymentMethod] = useState('online')
   const [customerNotes, setCustomerNotes] = useState('')
   const [loading, setLoading] = useState(false)
+  // Aynı sepet için tekrar "Sipariş Ver"e basılırsa aynı anahtar gider, sipariş iki kez oluşmaz
+  const idempotencyKeyRef = useRef(newIdempotencyKey())
 
   useEffect(() => {
     if (!tableId && !tableIdFromState) {
@@ -92,6 +94,21 @@ function OrderPage() {
     }, 0)
   }
 
+  // Kuyruğa alınan sipariş kaydedilene kadar kısa aralıklarla durum sorgula
+  const waitForPersistedOrder = async (orderNumber) => {
+    for (let attempt = 0; attempt < 50; attempt++) {
+      const { data } = await orderAPI.getIngestionStatus(orderNumber)
+      if (data.state === 'PERSISTED') {
+        return data.orderId
+      }
+      if (data.state === 'FAILED') {
+        throw new Error(data.message || 'Sipariş kaydedilemedi')
+      }
+      await new Promise((resolve) => setTimeout(resolve, 100))
+    }
+    throw new Error('Sipariş kaydı zaman aşımına uğradı')
+  }
+
   const handleSubmitOrder = async () => {
     if (cart.length === 0) {
       toast.error('Sepetiniz boş')
@@ -223,8 +240,13 @@ function OrderPage() {
         status: 'PENDING'
       }
 
-      const response = await orderAPI.create(order)
-      const orderId = response.data.id
+      const response = await orderAPI.create(order, idempotencyKeyRef.current)
+      let orderId = response.data.id
+
+      // 202: sipariş kuyruğa alındı (write-behind), kaydedilince ID'yi al
+      if (response.status === 202) {
+        orderId = await waitForPersistedOrder(response.data.orderNumber)
+      }
 
       toast.success('Siparişiniz alındı!')
 
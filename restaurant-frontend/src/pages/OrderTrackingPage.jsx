@@ -43,8 +43,12 @@ function OrderTrackingPage() {
       await websocketService.connect()
       
       if (tableId) {
-        const subscription = websocketService.subscribeToTable(tableId, (notification) => {
-          if (notification.orderId === parseInt(orderId)) {
+        const subscription = websocketService.subscribeToTable(tableId, (message) => {
+          // Toplu güncellemede masanın siparişleri tek mesajda gelir
+          const notification = Array.isArray(message.orders)
+            ? message.orders.find(o => o.orderId === parseInt(orderId))
+            : message
+          if (notification && notification.orderId === parseInt(orderId)) {
             setOrder(prevOrder => ({
               ...prevOrder,
               status: notification.status
@@ -52,7 +56,7 @@ function OrderTrackingPage() {
             updateStatusHistory(notification.status)
             toast.info(`Sipariş durumu: ${getStatusText(notification.status)}`)
           }
-        })
+        }, loadOrder) // Kaçırılan güncellemeler geri alınamazsa siparişi yeniden yükle
       }
     } catch (error) {
       // WebSocket bağlantı hatası sessizce işleniyor
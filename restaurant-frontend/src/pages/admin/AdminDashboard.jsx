@@ -1,6 +1,7 @@
 import React, { useState, useEffect } from 'react'
 import { useNavigate } from 'react-router-dom'
-import { orderAPI, tableAPI, tableRequestAPI } from '../../services/api'
+import { analyticsAPI, kitchenAPI, tableAPI, tableRequestAPI } from '../../services/api'
+import websocketService from '../../services/websocket'
 import { toast } from 'react-toastify'
 import './AdminDashboard.css'
 
@@ -13,28 +14,42 @@ function AdminDashboard() {
     occupiedTables: 0,
     pendingRequests: 0
   })
+  const [analytics, setAnalytics] = useState(null)
   const [loading, setLoading] = useState(true)
 
   useEffect(() => {
     loadStats()
+
+    // Satış özeti değiştikçe sunucu yayınlar (en fazla saniyede bir)
+    let subscription = null
+    websocketService.connect().then(() => {
+      subscription = websocketService.subscribeToAnalytics(setAnalytics)
+    })
+    return () => {
+      websocketService.unsubscribe(subscription)
+      websocketService.disconnect()
+    }
   }, [])
 
   const loadStats = async () => {
     try {
       setLoading(true)
-      const [ordersRes, tablesRes, requestsRes] = await Promise.all([
-        orderAPI.getAll(),
+      // Sipariş sayıları tüm siparişleri çekmeden: bugünkü toplam analitikten, bekleyenler mutfak panosundan
+      const [analyticsRes, boardRes, tablesRes, requestsRes] = await Promise.all([
+        analyticsAPI.getLive(5),
+        kitchenAPI.getBoard(),
         tableAPI.getAll(),
         tableRequestAPI.getPending()
       ])
 
-      const orders = ordersRes.data || []
+      const counts = boardRes.data?.counts || {}
       const tables = tablesRes.data || []
       const requests = requestsRes.data || []
 
+      setAnalytics(analyticsRes.data)
       setStats({
-        totalOrders: orders.length,
-        pendingOrders: orders.filter(o => o.status === 'PENDING' || o.status === 'PREPARING').length,
+        totalOrders: analyticsRes.data?.today?.orderCount || 0,
+        pendingOrders: (counts.PENDING || 0) + (counts.PREPARING || 0),
         totalTables: tables.length,
         occupiedTables: tables.filter(t => t.occupied).length,
         pendingRequests: requests.length
@@ -47,6 +62,8 @@ function AdminDashboard() {
     }
   }
 
+  const formatPrice = (value) => parseFloat(value || 0).toFixed(2)
+
   if (loading) {
     return <div className="admin-loading">Yükleniyor...</div>
   }
@@ -64,8 +81,8 @@ function AdminDashboard() {
         <div className="stat-card">
           <div className="stat-icon">📦</div>
           <div className="stat-info">
-            <h3>Toplam Sipariş</h3>
-            <p className="stat-value">{stats.totalOrders}</p>
+            <h3>Bugünkü Sipariş</h3>
+            <p className="stat-value">{analytics?.today?.orderCount ?? stats.totalOrders}</p>
           </div>
         </div>
 
@@ -102,6 +119,63 @@ function AdminDashboard() {
         </div>
       </div>
 
+      {analytics && (
+        <div className="dashboard-analytics">
+          <h2>Canlı Satış</h2>
+          <div className="stats-grid">
+            <div className="stat-card">
+              <div className="stat-icon">💰</div>
+              <div className="stat-info">
+                <h3>Bugünkü Ciro</h3>
+                <p className="stat-value">{formatPrice(analytics.today?.revenue)} ₺</p>
+              </div>
+            </div>
+            <div className="stat-card info">
+              <div className="stat-icon">🧾</div>
+              <div className="stat-info">
+                <h3>Ortalama Sepet</h3>
+                <p className="stat-value">{formatPrice(analytics.today?.averageTicket)} ₺</p>
+              </div>
+            </div>
+            <div className="stat-card">
+              <div className="stat-icon">⚡</div>
+              <div className="stat-info">
+                <h3>Sipariş / dk (son 15 dk)</h3>
+                <p className="stat-value">{(analytics.ordersPerMinute || 0).toFixed(1)}</p>
+              </div>
+            </div>
+          </div>
+          <div className="analytics-lists">
+            <div className="analytics-list">
+              <h3>En Çok Satanlar (Bugün)</h3>
+              {analytics.topProducts.length === 0 ? (
+                <p className="analytics-empty">Henüz satış yok</p>
+              ) : (
+                analytics.topProducts.slice(0, 5).map(product => (
+                  <div key={product.productId} className="analytics-row">
+                    <span>{product.productName || `Ürün #${product.productId}`}</span>
+                    <span>{product.quantity} adet · {formatPrice(product.revenue)} ₺</span>
+                  </div>
+                ))
+              )}
+            </div>
+            <div className="analytics-list">
+              <h3>Masa Bazında (Bugün)</h3>
+              {analytics.tables.length === 0 ? (
+                <p className="analytics-empty">Henüz satış yok</p>
+              ) : (
+                analytics.tables.slice(0, 5).map(table => (
+                  <div key={table.tableId} className="analytics-row">
+                    <span>{table.tableNumber || `Masa #${table.tableId}`}</span>
+                    <span>{table.orderCount} sipariş · {formatPrice(table.revenue)} ₺</span>
+                  </div>
+                ))
+              )}
+            </div>
+          </div>
+        </div>
+      )}
+
       <div className="dashboard-actions">
         <h2>Hızlı Erişim</h2>
         <div className="action-buttons">
@@ -4,6 +4,20 @@ import { orderAPI } from '../../services/api'
 import { toast } from 'react-toastify'
 import './OrderManagement.css'
 
+// Backend'deki OrderStatus geçişleriyle aynı: seçicide sadece izinli sonraki durumlar gösterilir
+const STATUS_TRANSITIONS = {
+  PENDING: ['PREPARING', 'READY', 'CANCELLED'],
+  PREPARING: ['PENDING', 'READY', 'CANCELLED'],
+  READY: ['PREPARING', 'DELIVERED', 'CANCELLED'],
+  DELIVERED: [],
+  CANCELLED: []
+}
+
+const getStatusOptions = (status) => {
+  const current = status?.toUpperCase() || 'PENDING'
+  return [current, ...(STATUS_TRANSITIONS[current] || [])]
+}
+
 function OrderManagement() {
   const navigate = useNavigate()
   const [orders, setOrders] = useState([])
@@ -13,29 +27,73 @@ function OrderManagement() {
   const [searchTerm, setSearchTerm] = useState('')
   const [statusFilter, setStatusFilter] = useState('ALL')
   const [dateFilter, setDateFilter] = useState('ALL')
+  // Arşiv: kapanmış ve eski siparişler (salt okunur)
+  const [showArchive, setShowArchive] = useState(false)
 
+  const [nextCursor, setNextCursor] = useState(null)
+  const [loadingMore, setLoadingMore] = useState(false)
+
+  // Durum ve tarih filtreleri sunucuda uygulanır; filtre değişince liste baştan yüklenir
   useEffect(() => {
     loadOrders()
-  }, [])
+  }, [statusFilter, dateFilter, showArchive])
 
   useEffect(() => {
     filterOrders()
-  }, [orders, searchTerm, statusFilter, dateFilter])
+  }, [orders, searchTerm])
+
+  const PAGE_SIZE = 50
+
+  const getDateFrom = () => {
+    if (dateFilter === 'ALL') return undefined
+    const from = new Date()
+    from.setHours(0, 0, 0, 0)
+    if (dateFilter === 'WEEK') {
+      from.setDate(from.getDate() - 7)
+    } else if (dateFilter === 'MONTH') {
+      from.setMonth(from.getMonth() - 1)
+    }
+    // Sunucu yerel tarih-saat bekliyor (LocalDateTime)
+    const pad = (n) => String(n).padStart(2, '0')
+    return `${from.getFullYear()}-${pad(from.getMonth() + 1)}-${pad(from.getDate())}T00:00:00`
+  }
+
+  const fetchPage = (cursor) => {
+    const params = {
+      status: statusFilter !== 'ALL' ? statusFilter : undefined,
+      from: getDateFrom(),
+      cursor: cursor || undefined,
+      limit: PAGE_SIZE
+    }
+    return showArchive ? orderAPI.getArchivePage(params) : orderAPI.getPage(params)
+  }
+
+  // Arşiv detayını normal sipariş detayıyla aynı şekle getir
+  const toOrderDetail = (archived) => ({
+    ...archived,
+    restaurantTable: { tableNumber: archived.tableNumber },
+    orderItems: (archived.items || []).map(item => ({ ...item, product: { name: item.productName } }))
+  })
+
+  const openOrderDetail = (orderId) => {
+    const request = showArchive
+      ? orderAPI.getArchivedById(orderId).then(response => toOrderDetail(response.data))
+      : orderAPI.getById(orderId).then(response => response.data)
+    request
+      .then(order => setSelectedOrder(order))
+      .catch(error => {
+        // Sipariş detayı yükleme hatası
+        toast.error('Sipariş detayı yüklenemedi')
+      })
+  }
 
   const loadOrders = async () => {
     try {
       setLoading(true)
-      const response = await orderAPI.getAll()
-      const ordersData = response.data || []
-      
-      // Siparişleri tarihe göre sırala (yeni → eski)
-      const sortedOrders = [...ordersData].sort((a, b) => {
-        const dateA = new Date(a.createdAt || 0)
-        const dateB = new Date(b.createdAt || 0)
-        return dateB - dateA
-      })
-      
-      setOrders(sortedOrders)
+      // Sunucu siparişleri yeniden eskiye sıralı döner
+      const response = await fetchPage(null)
+      setOrders(response.data?.orders || [])
+      setNextCursor(response.data?.hasMore ? response.data.nextCursor : null)
     } catch (error) {
       // Siparişler yükleme hatası toast ile gösteriliyor
       toast.error('Siparişler yüklenemedi')
@@ -44,53 +102,33 @@ function OrderManagement() {
     }
   }
 
+  const loadMoreOrders = async () => {
+    if (!nextCursor) return
+    try {
+      setLoadingMore(true)
+      const response = await fetchPage(nextCursor)
+      setOrders(prev => [...prev, ...(response.data?.orders || [])])
+      setNextCursor(response.data?.hasMore ? response.data.nextCursor : null)
+    } catch (error) {
+      toast.error('Siparişler yüklenemedi')
+    } finally {
+      setLoadingMore(false)
+    }
+  }
+
   const filterOrders = () => {
     let filtered = [...orders]
 
-    // Arama filtresi
+    // Arama filtresi (yüklenmiş siparişler içinde)
     if (searchTerm) {
       const term = searchTerm.toLowerCase()
       filtered = filtered.filter(order => 
         order.orderNumber?.toLowerCase().includes(term) ||
-        order.restaurantTable?.tableNumber?.toLowerCase().includes(term) ||
+        order.tableNumber?.toLowerCase().includes(term) ||
         order.id?.toString().includes(term)
       )
     }
 
-    // Durum filtresi
-    if (statusFilter !== 'ALL') {
-      filtered = filtered.filter(order => 
-        order.status?.toUpperCase() === statusFilter.toUpperCase()
-      )
-    }
-
-    // Tarih filtresi
-    if (dateFilter !== 'ALL') {
-      const today = new Date()
-      today.setHours(0, 0, 0, 0)
-      
-      filtered = filtered.filter(order => {
-        if (!order.createdAt) return false
-        const orderDate = new Date(order.createdAt)
-        orderDate.setHours(0, 0, 0, 0)
-        
-        switch (dateFilter) {
-          case 'TODAY':
-            return orderDate.getTime() === today.getTime()
-          case 'WEEK':
-            const weekAgo = new Date(today)
-            weekAgo.setDate(weekAgo.getDate() - 7)
-            return orderDate >= weekAgo
-          case 'MONTH':
-            const monthAgo = new Date(today)
-            monthAgo.setMonth(monthAgo.getMonth() - 1)
-            return orderDate >= monthAgo
-          default:
-            return true
-        }
-      })
-    }
-
     setFilteredOrders(filtered)
   }
 
@@ -104,8 +142,11 @@ function OrderManagement() {
         setSelectedOrder(response.data)
       }
     } catch (error) {
-      // Sipariş durumu güncelleme hatası toast ile gösteriliyor
-      toast.error('Sipariş durumu güncellenemedi')
+      // 409: izin verilmeyen geçiş veya başka bir ekran durumu az önce değiştirdi; sunucunun mesajını göster
+      toast.error(error.response?.data?.message || 'Sipariş durumu güncellenemedi')
+      if (error.response?.status === 409) {
+        loadOrders()
+      }
     }
   }
 
@@ -122,6 +163,8 @@ function OrderManagement() {
       case 'DELIVERED':
       case 'TESLİM EDİLDİ':
         return '#9e9e9e'
+      case 'CANCELLED':
+        return '#f44336'
       default:
         return '#666'
     }
@@ -140,6 +183,8 @@ function OrderManagement() {
       case 'DELIVERED':
       case 'TESLİM EDİLDİ':
         return 'Teslim Edildi'
+      case 'CANCELLED':
+        return 'İptal Edildi'
       default:
         return status || 'Bilinmeyen'
     }
@@ -176,9 +221,18 @@ function OrderManagement() {
           </button>
           <h1>📦 Sipariş Yönetimi</h1>
         </div>
-        <button className="refresh-btn" onClick={loadOrders}>
-          🔄 Yenile
-        </button>
+        <div>
+          {/* Tarih filtresindeki aralığın (yoksa bugünün) tüm siparişleri, arşiv dahil */}
+          <a
+            className="refresh-btn"
+            href={orderAPI.getExportUrl({ from: getDateFrom(), format: 'csv' })}
+          >
+            ⬇️ CSV Dökümü
+          </a>
+          <button className="refresh-btn" onClick={loadOrders}>
+            🔄 Yenile
+          </button>
+        </div>
       </div>
 
       <div className="stats-bar">
@@ -221,6 +275,21 @@ function OrderManagement() {
             <option value="PREPARING">Hazırlanıyor</option>
             <option value="READY">Hazır</option>
             <option value="DELIVERED">Teslim Edildi</option>
+            <option value="CANCELLED">İptal Edildi</option>
+          </select>
+        </div>
+        <div className="filter-group">
+          <label>🗄️ Kaynak</label>
+          <select
+            value={showArchive ? 'ARCHIVE' : 'ACTIVE'}
+            onChange={(e) => {
+              setSelectedOrder(null)
+              setShowArchive(e.target.value === 'ARCHIVE')
+            }}
+            className="filter-select"
+          >
+            <option value="ACTIVE">Güncel</option>
+            <option value="ARCHIVE">Arşiv</option>
           </select>
         </div>
         <div className="filter-group">
@@ -248,19 +317,12 @@ function OrderManagement() {
             <div
               key={order.id}
               className={`order-card ${selectedOrder?.id === order.id ? 'selected' : ''}`}
-              onClick={() => {
-                orderAPI.getById(order.id)
-                  .then(response => setSelectedOrder(response.data))
-                  .catch(error => {
-                    // Sipariş detayı yükleme hatası
-                    toast.error('Sipariş detayı yüklenemedi')
-                  })
-              }}
+              onClick={() => openOrderDetail(order.id)}
             >
               <div className="order-header">
                 <div className="order-info">
                   <h3>{order.orderNumber || `Sipariş #${order.id}`}</h3>
-                  <p className="table-info">Masa: {order.restaurantTable?.tableNumber || 'Bilinmiyor'}</p>
+                  <p className="table-info">Masa: {order.tableNumber || 'Bilinmiyor'}</p>
                 </div>
                 <div
                   className="status-badge"
@@ -273,28 +335,33 @@ function OrderManagement() {
               <div className="order-details">
                 <p className="order-time">⏰ {formatDate(order.createdAt)}</p>
                 <p className="order-total">💰 {parseFloat(order.totalAmount || 0).toFixed(2)} ₺</p>
-                {order.orderItems && (
-                  <p className="order-items-count">📦 {order.orderItems.length} ürün</p>
-                )}
+                <p className="order-items-count">📦 {order.itemCount} ürün</p>
               </div>
 
-              <div className="order-actions">
-                <select
-                  value={order.status || 'PENDING'}
-                  onChange={(e) => handleStatusUpdate(order.id, e.target.value)}
-                  onClick={(e) => e.stopPropagation()}
-                  className="status-select"
-                  style={{ borderColor: getStatusColor(order.status) }}
-                >
-                  <option value="PENDING">Beklemede</option>
-                  <option value="PREPARING">Hazırlanıyor</option>
-                  <option value="READY">Hazır</option>
-                  <option value="DELIVERED">Teslim Edildi</option>
-                </select>
-              </div>
+              {!showArchive && (
+                <div className="order-actions">
+                  <select
+                    value={order.status?.toUpperCase() || 'PENDING'}
+                    onChange={(e) => handleStatusUpdate(order.id, e.target.value)}
+                    onClick={(e) => e.stopPropagation()}
+                    className="status-select"
+                    style={{ borderColor: getStatusColor(order.status) }}
+                    disabled={getStatusOptions(order.status).length === 1}
+                  >
+                    {getStatusOptions(order.status).map((status) => (
+                      <option key={status} value={status}>{getStatusLabel(status)}</option>
+                    ))}
+                  </select>
+                </div>
+              )}
             </div>
           ))
         )}
+        {nextCursor && (
+          <button className="refresh-btn" onClick={loadMoreOrders} disabled={loadingMore}>
+            {loadingMore ? 'Yükleniyor...' : 'Daha fazla yükle'}
+          </button>
+        )}
       </div>
 
       {/* Sipariş Detay Modal */}
@@ -372,19 +439,21 @@ function OrderManagement() {
                 </div>
               )}
 
-              <div className="detail-actions">
-                <select
-                  value={selectedOrder.status || 'PENDING'}
-                  onChange={(e) => handleStatusUpdate(selectedOrder.id, e.target.value)}
-                  className="status-select-large"
-                  style={{ borderColor: getStatusColor(selectedOrder.status) }}
-                >
-                  <option value="PENDING">Beklemede</option>
-                  <option value="PREPARING">Hazırlanıyor</option>
-                  <option value="READY">Hazır</option>
-                  <option value="DELIVERED">Teslim Edildi</option>
-                </select>
-              </div>
+              {!showArchive && (
+                <div className="detail-actions">
+                  <select
+                    value={selectedOrder.status?.toUpperCase() || 'PENDING'}
+                    onChange={(e) => handleStatusUpdate(selectedOrder.id, e.target.value)}
+                    className="status-select-large"
+                    style={{ borderColor: getStatusColor(selectedOrder.status) }}
+                    disabled={getStatusOptions(selectedOrder.status).length === 1}
+                  >
+                    {getStatusOptions(selectedOrder.status).map((status) => (
+                      <option key={status} value={status}>{getStatusLabel(status)}</option>
+                    ))}
+                  </select>
+                </div>
+              )}
             </div>
           </div>
         </div>
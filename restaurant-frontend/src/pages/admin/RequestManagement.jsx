@@ -1,6 +1,7 @@
 import React, { useState, useEffect } from 'react'
 import { useNavigate } from 'react-router-dom'
 import { tableRequestAPI } from '../../services/api'
+import websocketService from '../../services/websocket'
 import { toast } from 'react-toastify'
 import './RequestManagement.css'
 
@@ -17,13 +18,40 @@ function RequestManagement() {
     loadRequests()
   }, [])
 
+  // Yeni masa istekleri /topic/floor üzerinden anlık gelir; liste sessizce yenilenir
+  useEffect(() => {
+    let active = true
+    let subscription = null
+    const refresh = () => loadRequests(true)
+    websocketService.connect().then(() => {
+      if (active) {
+        subscription = websocketService.subscribeToFloor((notification) => {
+          toast.info(notification.notificationMessage || 'Yeni masa isteği', {
+            position: 'top-right',
+            autoClose: 3000
+          })
+          refresh()
+        }, refresh)
+      }
+    })
+    return () => {
+      active = false
+      websocketService.unsubscribe(subscription)
+      websocketService.disconnect()
+    }
+    // eslint-disable-next-line react-hooks/exhaustive-deps
+  }, [])
+
   useEffect(() => {
     filterRequests()
   }, [requests, statusFilter, typeFilter])
 
-  const loadRequests = async () => {
+  // silent: bildirim sonrası yenilemede yükleniyor ekranı gösterilmez
+  const loadRequests = async (silent = false) => {
     try {
-      setLoading(true)
+      if (!silent) {
+        setLoading(true)
+      }
       const response = await tableRequestAPI.getAll()
       const requestsData = response.data || []
       
@@ -159,7 +187,7 @@ function RequestManagement() {
           </button>
           <h1>🔔 İstek/Şikayet Yönetimi</h1>
         </div>
-        <button className="refresh-btn" onClick={loadRequests}>
+        <button className="refresh-btn" onClick={() => loadRequests()}>
           🔄 Yenile
         </button>
       </div>
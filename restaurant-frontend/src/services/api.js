@@ -9,6 +9,26 @@ const api = axios.create({
   },
 })
 
+// Oluşturma isteklerinin tekrarında aynı kaydı almak için benzersiz anahtar
+export const newIdempotencyKey = () =>
+  window.crypto?.randomUUID
+    ? window.crypto.randomUUID()
+    : `${Date.now()}-${Math.random().toString(36).slice(2)}`
+
+// Yanıt alınamayan (ağ hatası) veya hâlâ işlenen (409) istekleri aynı Idempotency-Key ile tekrar dener;
+// sunucu ilk isteğin yanıtını döner, kayıt iki kez oluşmaz
+const postIdempotent = async (url, data, idempotencyKey = newIdempotencyKey(), retries = 2) => {
+  for (let attempt = 0; ; attempt++) {
+    try {
+      return await api.post(url, data, { headers: { 'Idempotency-Key': idempotencyKey } })
+    } catch (error) {
+      const retryable = !error.response || error.response.status === 409
+      if (!retryable || attempt >= retries) throw error
+      await new Promise((resolve) => setTimeout(resolve, 500 * (attempt + 1)))
+    }
+  }
+}
+
 // Kategori API'leri
 export const categoryAPI = {
   getAll: () => api.get('/categories'),
@@ -24,12 +44,34 @@ export const productAPI = {
     const url = categoryId ? `/products?categoryId=${categoryId}` : '/products'
     return api.get(url)
   },
+  // filters: { excludeAllergens: ['LAKTOZ', 'GLUTEN'], vegan: true, vegetarian: true }
+  getFiltered: (filters = {}, categoryId) => api.get('/products', {
+    params: {
+      categoryId,
+      excludeAllergens: filters.excludeAllergens?.join(','),
+      vegan: filters.vegan || undefined,
+      vegetarian: filters.vegetarian || undefined,
+    },
+  }),
   getById: (id) => api.get(`/products/${id}`),
+  search: (query, limit = 20) => api.get('/products/search', { params: { q: query, limit } }),
   create: (product) => api.post('/products', product),
   update: (id, product) => api.put(`/products/${id}`, product),
   delete: (id) => api.delete(`/products/${id}`),
 }
 
+// Menü değişiklik API'leri (/topic/menu delta'larını kaçıran istemciler için)
+export const menuAPI = {
+  getChanges: (since, epoch) => api.get('/menu/changes', { params: { since, epoch } }),
+  // since olmadan: sadece güncel menü versiyonu (takibe başlamak için)
+  getVersion: () => api.get('/menu/changes'),
+}
+
+// QR menü sayfası için tek istekte masa + menü + açık siparişler
+export const bootstrapAPI = {
+  getForTable: (tableId) => api.get(`/bootstrap/table/${tableId}`),
+}
+
 // Masa API'leri
 export const tableAPI = {
   getAll: () => api.get('/tables'),
@@ -45,11 +87,20 @@ export const tableAPI = {
 
 // Sipariş API'leri
 export const orderAPI = {
-  getAll: () => api.get('/orders'),
+  // params: { status, tableId, from, to, cursor, limit, includeItems }
+  getPage: (params) => api.get('/orders/page', { params }),
   getById: (id) => api.get(`/orders/${id}`),
+  // Arşive taşınmış siparişler: getPage ile aynı parametreler (includeItems hariç)
+  getArchivePage: (params) => api.get('/orders/archive', { params }),
+  getArchivedById: (id) => api.get(`/orders/archive/${id}`),
+  // Gün sonu dökümü indirme linki - params: { from, to, format: 'csv' | 'ndjson' }
+  getExportUrl: (params) => api.getUri({ url: '/orders/export', params }),
   getByTableId: (tableId) => api.get(`/orders/table/${tableId}`),
-  create: (order) => api.post('/orders', order),
+  create: (order, idempotencyKey) => postIdempotent('/orders', order, idempotencyKey),
+  getIngestionStatus: (orderNumber) => api.get(`/orders/ingestion/${orderNumber}`),
   updateStatus: (id, status) => api.put(`/orders/${id}/status`, { status }),
+  // updates: [{ id, status }, ...] - tek istekte toplu durum güncellemesi
+  updateStatuses: (updates) => api.put('/orders/status', updates),
 }
 
 // Masa İsteği/Şikayet API'leri
@@ -58,10 +109,25 @@ export const tableRequestAPI = {
   getPending: () => api.get('/table-requests/pending'),
   getByTable: (tableId) => api.get(`/table-requests/table/${tableId}`),
   getById: (id) => api.get(`/table-requests/${id}`),
-  create: (request) => api.post('/table-requests', request),
+  create: (request) => postIdempotent('/table-requests', request),
   updateStatus: (id, status) => api.put(`/table-requests/${id}/status`, { status }),
 }
 
+// Mutfak panosu (aktif siparişler ve durum sayıları, bellekteki projeksiyondan)
+export const kitchenAPI = {
+  getBoard: (params) => api.get('/kitchen/board', { params }),
+}
+
+// Canlı satış özeti (bellekteki sayaçlardan; güncellemeler /topic/analytics üzerinden de gelir)
+export const analyticsAPI = {
+  getLive: (top) => api.get('/analytics/live', { params: { top } }),
+}
+
+// WebSocket bağlantısı koptuğunda kaçırılan bildirimler (topic başına seq numarasından sonrası)
+export const notificationAPI = {
+  getReplay: (topic, after, epoch) => api.get('/notifications/replay', { params: { topic, after, epoch } }),
+}
+
 // Chatbot API'leri
 export const chatbotAPI = {
   chat: (message) => api.post('/chatbot/chat', { message }),
@@ -0,0 +1,74 @@
+import { notificationAPI } from './api'
+
+// Bir topic için son alınan bildirimin seq numarasını tutar.
+// Yeniden bağlanınca resume() kaçırılan mesajları sunucudan ister; sunucu geçmişi yetmezse
+// (veya sunucu yeniden başladıysa) onReset çağrılır ve ekran baştan yüklenir.
+export const createTopicCursor = (topic, onNotification, onReset) => {
+  let lastSeq = 0
+  let epoch = null
+  let replaying = false
+  let pending = []
+
+  const accept = (seq, messageEpoch, notification) => {
+    if (Number.isNaN(seq)) {
+      // seq başlığı olmayan mesaj (örn. test yayını): olduğu gibi işle
+      onNotification(notification)
+      return
+    }
+    if (epoch !== null && messageEpoch !== epoch) {
+      // Sunucu yeniden başladı, aradaki mesajlar kayboldu
+      epoch = messageEpoch
+      lastSeq = seq
+      onReset()
+      return
+    }
+    if (seq <= lastSeq) {
+      // Hem canlı hem tekrar oynatmadan gelen mesaj
+      return
+    }
+    epoch = messageEpoch
+    lastSeq = seq
+    onNotification(notification)
+  }
+
+  // STOMP mesajı (stompjs ve @stomp/stompjs aynı headers/body alanlarını kullanır)
+  const handleMessage = (message) => {
+    const seq = Number(message.headers?.seq)
+    const messageEpoch = message.headers?.['seq-epoch'] ?? null
+    const notification = JSON.parse(message.body)
+    if (replaying) {
+      pending.push([seq, messageEpoch, notification])
+      return
+    }
+    accept(seq, messageEpoch, notification)
+  }
+
+  // Abonelik yenilendikten sonra çağrılır
+  const resume = async () => {
+    if (epoch === null) {
+      // Henüz hiç mesaj alınmadı: hangi noktadan devam edileceği bilinmiyor
+      onReset()
+      return
+    }
+    replaying = true
+    try {
+      const { data } = await notificationAPI.getReplay(topic, lastSeq, epoch)
+      if (data.resetRequired) {
+        epoch = data.epoch
+        lastSeq = data.lastSeq
+        onReset()
+      } else {
+        data.messages.forEach((m) => accept(m.seq, data.epoch, m.payload))
+      }
+    } catch (error) {
+      onReset()
+    } finally {
+      replaying = false
+      const queued = pending
+      pending = []
+      queued.forEach(([seq, messageEpoch, notification]) => accept(seq, messageEpoch, notification))
+    }
+  }
+
+  return { handleMessage, resume }
+}
@@ -1,28 +1,44 @@
 import SockJS from 'sockjs-client'
 import { Client } from 'stompjs'
+import { createTopicCursor } from './topicCursor'
+
+const RECONNECT_DELAY = 5000
 
 class WebSocketService {
   constructor() {
     this.stompClient = null
     this.connected = false
+    this.everConnected = false
+    this.shouldReconnect = false
+    this.reconnectTimer = null
+    // Bağlantı yenilendiğinde tekrar abone olunacak topic'ler
+    this.subscriptions = new Set()
   }
 
   connect() {
+    this.shouldReconnect = true
     return new Promise((resolve, reject) => {
       try {
         const socket = new SockJS('http://localhost:8080/ws')
-        this.stompClient = Client.over(socket)
+        const client = Client.over(socket)
+        this.stompClient = client
 
-        this.stompClient.connect(
+        client.connect(
           {},
           () => {
             this.connected = true
-            // WebSocket bağlantısı kuruldu
+            this.everConnected = true
+            // WebSocket bağlantısı kuruldu; kopmuştuysa abonelikleri yenile
+            this.subscriptions.forEach((entry) => this.attach(entry))
             resolve()
           },
           (error) => {
             // WebSocket bağlantı hatası - sessizce devam et
             this.connected = false
+            // Bir kez bağlanmış istemci koptuysa tekrar dene; kaçırılan mesajlar seq ile geri alınır
+            if (this.shouldReconnect && this.everConnected && this.stompClient === client) {
+              this.scheduleReconnect()
+            }
             // CORS hatası gibi durumlarda sessizce devam et
             resolve() // Hata olsa bile resolve et, uygulama çalışmaya devam etsin
           }
@@ -35,7 +51,22 @@ class WebSocketService {
     })
   }
 
+  scheduleReconnect() {
+    if (this.reconnectTimer) return
+    this.reconnectTimer = setTimeout(() => {
+      this.reconnectTimer = null
+      this.connect()
+    }, RECONNECT_DELAY)
+  }
+
   disconnect() {
+    this.shouldReconnect = false
+    this.everConnected = false
+    if (this.reconnectTimer) {
+      clearTimeout(this.reconnectTimer)
+      this.reconnectTimer = null
+    }
+    this.subscriptions.clear()
     if (this.stompClient && this.connected) {
       this.stompClient.disconnect()
       this.connected = false
@@ -43,26 +74,64 @@ class WebSocketService {
     }
   }
 
-  subscribeToKitchen(callback) {
-    if (this.stompClient && this.connected) {
-      return this.stompClient.subscribe('/topic/kitchen', (message) => {
-        const notification = JSON.parse(message.body)
-        callback(notification)
-      })
+  // Yeniden bağlantıda ilk abonelik değil: sıralı topic'lerde kaçırılanları iste
+  attach(entry) {
+    const resumed = entry.subscription !== null
+    entry.subscription = this.stompClient.subscribe(entry.destination, entry.handler)
+    if (resumed && entry.cursor) {
+      entry.cursor.resume()
     }
-    return null
   }
 
-  subscribeToTable(tableId, callback) {
+  subscribe(destination, handler, cursor = null) {
     if (this.stompClient && this.connected) {
-      return this.stompClient.subscribe(`/topic/table/${tableId}`, (message) => {
-        const notification = JSON.parse(message.body)
-        callback(notification)
-      })
+      const entry = { destination, handler, cursor, subscription: null }
+      this.attach(entry)
+      this.subscriptions.add(entry)
+      return {
+        unsubscribe: () => {
+          this.subscriptions.delete(entry)
+          if (this.connected) {
+            entry.subscription.unsubscribe()
+          }
+        }
+      }
     }
     return null
   }
 
+  // onReset: kaçırılan mesajlar sunucuda artık yoksa ekranın tamamını yeniden yükler
+  subscribeResumable(destination, callback, onReset = () => {}) {
+    const cursor = createTopicCursor(destination, callback, onReset)
+    return this.subscribe(destination, cursor.handleMessage, cursor)
+  }
+
+  subscribeToKitchen(callback, onReset) {
+    return this.subscribeResumable('/topic/kitchen', callback, onReset)
+  }
+
+  // Garson/salon ekranları: masa istekleri (garson çağırma, hesap vb.)
+  subscribeToFloor(callback, onReset) {
+    return this.subscribeResumable('/topic/floor', callback, onReset)
+  }
+
+  subscribeToTable(tableId, callback, onReset) {
+    return this.subscribeResumable(`/topic/table/${tableId}`, callback, onReset)
+  }
+
+  // Menü delta'ları versiyonlu: yeniden bağlantıda onReconnect aradaki değişiklikleri /api/menu/changes ile ister
+  subscribeToMenu(callback, onReconnect = () => {}) {
+    return this.subscribe('/topic/menu', (message) => {
+      callback(JSON.parse(message.body))
+    }, { resume: onReconnect })
+  }
+
+  subscribeToAnalytics(callback) {
+    return this.subscribe('/topic/analytics', (message) => {
+      callback(JSON.parse(message.body))
+    })
+  }
+
   unsubscribe(subscription) {
     if (subscription) {
       subscription.unsubscribe()
@@ -71,4 +140,3 @@ class WebSocketService {
 }
 
 export default new WebSocketService()
-